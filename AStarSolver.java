@@ -0,0 +1,116 @@
+/**
+ * A* over cell indices with an indexed heap, a closed-set bitmap and
+ * primitive g-scores from a reusable {@link SearchContext}. Ties on f are
+ * broken towards the higher g, which keeps the search moving along the
+ * current path through zero-cost footpath instead of widening the frontier.
+ */
+public class AStarSolver implements PathSolver {
+    public enum Heuristic {
+        // Plain Manhattan distance: fast, but overestimates where footpaths
+        // cost 0, so the path is not guaranteed to be the cheapest
+        MANHATTAN,
+        // Every step but the last costs at least the grid's cheapest step,
+        // the last costs the end's cell: (manhattan - 1) * minStep +
+        // cost(end), which never overestimates. Grids with footpath away from
+        // start and end have a scale of 0 and search in Dijkstra order with
+        // the tie-breaking above.
+        ADMISSIBLE
+    }
+
+    // Coordinate deltas matching MazeGrid.neighborOffsets()
+    private static final int[] DX = {0, 0, -1, 1};
+    private static final int[] DY = {-1, 1, 0, 0};
+
+    private final Heuristic heuristic;
+    private final SearchContext context;
+
+    public AStarSolver() {
+        this(Heuristic.MANHATTAN);
+    }
+
+    // Uses the calling thread's context
+    public AStarSolver(Heuristic heuristic) {
+        this(heuristic, null);
+    }
+
+    public AStarSolver(Heuristic heuristic, SearchContext context) {
+        this.heuristic = heuristic;
+        this.context = context;
+    }
+
+    @Override
+    public SolveResult solve(MazeGrid grid) {
+        long startTime = System.nanoTime();
+        SearchContext ctx = context != null ? context : SearchContext.forCurrentThread();
+        int cost = search(grid, ctx, heuristic);
+        if (cost < 0) {
+            return null;
+        }
+        return SolveResult.of(ctx, cost, System.nanoTime() - startTime);
+    }
+
+    // Returns the path cost, or -1 if the end is unreachable
+    public static int search(MazeGrid grid, SearchContext ctx, Heuristic heuristic) {
+        ctx.reset(grid);
+        int start = grid.getStart();
+        int end = grid.getEnd();
+        int endX = grid.x(end);
+        int endY = grid.y(end);
+        int scale = 1, bias = 0;
+        if (heuristic == Heuristic.ADMISSIBLE) {
+            scale = grid.getMinStepCost();
+            bias = grid.getCost(end) - scale;
+        }
+        int[] offsets = grid.neighborOffsets();
+        int[] gScore = ctx.dist;
+        int[] parent = ctx.parent;
+        IndexedMinHeap heap = ctx.heap;
+
+        gScore[start] = 0;
+        parent[start] = -1;
+        int h = estimate(Math.abs(grid.x(start) - endX) + Math.abs(grid.y(start) - endY), scale, bias);
+        heap.push(start, key(h, 0));
+
+        while (!heap.isEmpty()) {
+            int current = heap.poll();
+
+            if (current == end) {
+                heap.clear();
+                ctx.tracePath(end);
+                return gScore[end];
+            }
+
+            ctx.close(current);
+            ctx.nodesExpanded++;
+
+            int cx = grid.x(current);
+            int cy = grid.y(current);
+            for (int i = 0; i < offsets.length; i++) {
+                int next = current + offsets[i];
+
+                if (grid.isOpen(next) && !ctx.isClosed(next)) {
+                    int tentativeG = gScore[current] + grid.getCost(next);
+
+                    if (tentativeG < gScore[next]) {
+                        gScore[next] = tentativeG;
+                        parent[next] = current;
+
+                        h = estimate(Math.abs(cx + DX[i] - endX) + Math.abs(cy + DY[i] - endY), scale, bias);
+                        heap.push(next, key(tentativeG + h, tentativeG));
+                    }
+                }
+            }
+        }
+        return -1;
+    }
+
+    // Remaining cost estimate at a Manhattan distance from the end
+    private static int estimate(int manhattan, int scale, int bias) {
+        return manhattan == 0 ? 0 : manhattan * scale + bias;
+    }
+
+    // Orders by f, then by higher g
+    private static long key(int f, int g) {
+        return (long) f << 32 | (Integer.MAX_VALUE - g);
+    }
+}
@@ -0,0 +1,34 @@
+/**
+ * Solves a batch of seeded mazes with Dijkstra and A* and prints throughput
+ * and latency percentiles.
+ * Usage: java BatchBenchmark [mazes] [size] [threads | virtual]
+ */
+public class BatchBenchmark {
+
+    public static void main(String[] args) throws InterruptedException {
+        int mazes = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int size = args.length > 1 ? Integer.parseInt(args[1]) : 101;
+        String mode = args.length > 2 ? args[2] : String.valueOf(Runtime.getRuntime().availableProcessors());
+
+        long[] seeds = new long[mazes];
+        for (int i = 0; i < mazes; i++) {
+            seeds[i] = i;
+        }
+        SolverType[] solvers = {SolverType.DIJKSTRA, SolverType.A_STAR};
+        if (mode.equals("virtual") && !BatchSolver.virtualThreadsAvailable()) {
+            mode = String.valueOf(Runtime.getRuntime().availableProcessors());
+            System.out.println("No virtual threads on Java " + Runtime.version().feature()
+                    + ", using " + mode + " platform threads");
+        }
+
+        try (BatchSolver batch = mode.equals("virtual")
+                ? BatchSolver.withVirtualThreads()
+                : BatchSolver.withThreads(Integer.parseInt(mode))) {
+            // First pass warms up the JIT and the engines' buffers
+            batch.solveSeeds(size, size, GeneratorType.PRIM, seeds, solvers);
+            BatchResult result = batch.solveSeeds(size, size, GeneratorType.PRIM, seeds, solvers);
+            System.out.printf("%d mazes of %dx%d, %s threads%n", mazes, size, size, mode);
+            System.out.println(result);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+import java.util.Arrays;
+
+/**
+ * Outcome of a {@link BatchSolver} run: every solve result plus aggregate
+ * throughput and latency percentiles.
+ */
+public class BatchResult {
+    private final SolveResult[] results;
+    private final int solversPerMaze;
+    // Per-solve latencies, sorted ascending
+    private final long[] latencies;
+    private final long wallNanos;
+
+    BatchResult(SolveResult[] results, int solversPerMaze, long[] latencies, long wallNanos) {
+        this.results = results;
+        this.solversPerMaze = solversPerMaze;
+        this.latencies = latencies.clone();
+        Arrays.sort(this.latencies);
+        this.wallNanos = wallNanos;
+    }
+
+    public int getMazeCount() {
+        return solversPerMaze == 0 ? 0 : results.length / solversPerMaze;
+    }
+
+    public int getSolveCount() {
+        return results.length;
+    }
+
+    // Result of the given solver (position in the requested list) on a maze; null if unreachable
+    public SolveResult getResult(int maze, int solver) {
+        return results[maze * solversPerMaze + solver];
+    }
+
+    public long getWallNanos() {
+        return wallNanos;
+    }
+
+    public double getSolvesPerSecond() {
+        return wallNanos == 0 ? 0 : results.length * 1e9 / wallNanos;
+    }
+
+    // Nearest-rank percentile of the solve latency, p in [0, 100]
+    public long getLatencyPercentile(double p) {
+        if (p < 0 || p > 100) {
+            throw new IllegalArgumentException("Percentile must be in [0, 100], got " + p);
+        }
+        if (latencies.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(p / 100 * latencies.length);
+        return latencies[Math.max(rank, 1) - 1];
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d solves in %.1f ms, %.0f solves/s, latency p50 %.1f us, p90 %.1f us, p99 %.1f us, max %.1f us",
+                results.length, wallNanos / 1e6, getSolvesPerSecond(),
+                getLatencyPercentile(50) / 1e3, getLatencyPercentile(90) / 1e3,
+                getLatencyPercentile(99) / 1e3, getLatencyPercentile(100) / 1e3);
+    }
+}
@@ -0,0 +1,113 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Generates and solves many mazes concurrently on an executor. Each task
+ * borrows an idle {@link MazeEngine} with its own {@link SearchContext}, so
+ * search buffers are reused across tasks even when the executor starts a
+ * new thread per task (virtual threads). Grids passed in are only read.
+ */
+public class BatchSolver implements AutoCloseable {
+    private final ExecutorService executor;
+    private final ConcurrentLinkedDeque<MazeEngine> idle = new ConcurrentLinkedDeque<>();
+
+    public BatchSolver(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    public static BatchSolver withThreads(int threads) {
+        return new BatchSolver(Executors.newFixedThreadPool(threads));
+    }
+
+    // One virtual thread per task; needs a runtime that has them (Java 21+),
+    // so check virtualThreadsAvailable() first
+    public static BatchSolver withVirtualThreads() {
+        try {
+            return new BatchSolver((ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor").invoke(null));
+        } catch (ReflectiveOperationException e) {
+            throw new UnsupportedOperationException("Virtual threads are not available on Java "
+                    + Runtime.version().feature(), e);
+        }
+    }
+
+    public static boolean virtualThreadsAvailable() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    // Generates one maze per seed and runs every solver on it; generation
+    // counts towards wall time but not towards solve latency
+    public BatchResult solveSeeds(int width, int height, GeneratorType generator, long[] seeds,
+            SolverType... solvers) throws InterruptedException {
+        return run(seeds.length, solvers, (engine, i) -> engine.generate(width, height, generator, seeds[i]));
+    }
+
+    public BatchResult solveGrids(List<MazeGrid> grids, SolverType... solvers) throws InterruptedException {
+        return run(grids.size(), solvers, (engine, i) -> grids.get(i));
+    }
+
+    private interface MazeSource {
+        MazeGrid get(MazeEngine engine, int index);
+    }
+
+    private BatchResult run(int count, SolverType[] solvers, MazeSource source) throws InterruptedException {
+        SolveResult[] results = new SolveResult[count * solvers.length];
+        long[] latencies = new long[results.length];
+        List<Callable<Void>> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int maze = i;
+            tasks.add(() -> {
+                MazeEngine engine = idle.poll();
+                if (engine == null) {
+                    engine = new MazeEngine(new SearchContext());
+                }
+                try {
+                    MazeGrid grid = source.get(engine, maze);
+                    for (int s = 0; s < solvers.length; s++) {
+                        results[maze * solvers.length + s] = engine.solve(grid, solvers[s]);
+                        // Timed by the engine, outside its allocation counter reads
+                        latencies[maze * solvers.length + s] = engine.lastSolveNanos();
+                    }
+                } finally {
+                    idle.push(engine);
+                }
+                return null;
+            });
+        }
+
+        long start = System.nanoTime();
+        List<Future<Void>> futures = executor.invokeAll(tasks);
+        long wallNanos = System.nanoTime() - start;
+        for (Future<Void> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new IllegalStateException("Batch task failed", cause);
+            }
+        }
+        return new BatchResult(results, solvers.length, latencies, wallNanos);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
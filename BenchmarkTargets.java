@@ -0,0 +1,71 @@
+import java.util.SplittableRandom;
+import java.util.function.IntSupplier;
+import java.util.function.LongToIntFunction;
+
+/**
+ * Entry points for the JMH benchmarks in jmh/. JMH refuses benchmark
+ * classes in the default package, and named packages cannot import from
+ * it, so the benchmarks look this class up by name once and then call the
+ * returned JDK functional interfaces, which the JIT inlines.
+ */
+public final class BenchmarkTargets {
+
+    /** Terrain mixes the solver benchmarks run against. */
+    public enum Terrain {
+        // As generated: 30% grass, 25% mud, 15% water, 30% footpath
+        MIXED,
+        // Every open cell costs 1
+        UNIFORM,
+        // 10% grass, 40% mud, 50% water
+        COSTLY
+    }
+
+    private BenchmarkTargets() {
+    }
+
+    // Generates a maze of the given size per call; returns the end cell
+    public static LongToIntFunction generator(String generator, int size) {
+        MazeGenerator g = GeneratorType.valueOf(generator).newGenerator();
+        return seed -> g.generate(size, size, seed).getEnd();
+    }
+
+    // Prim maze with the open cells repainted to the given terrain mix
+    public static Object maze(int size, String terrain, long seed) {
+        MazeGrid grid = new PrimMazeGenerator().generate(size, size, seed);
+        Terrain mix = Terrain.valueOf(terrain);
+        if (mix != Terrain.MIXED) {
+            SplittableRandom rand = new SplittableRandom(seed);
+            for (int i = 0; i < grid.getCellCount(); i++) {
+                if (grid.isOpen(i) && i != grid.getStart() && i != grid.getEnd()) {
+                    grid.setCell(i, mix == Terrain.UNIFORM ? MazeGrid.GRASS : costlyTerrain(rand));
+                }
+            }
+        }
+        return grid;
+    }
+
+    private static int costlyTerrain(SplittableRandom rand) {
+        int roll = rand.nextInt(10);
+        return roll < 1 ? MazeGrid.GRASS : roll < 5 ? MazeGrid.MUD : MazeGrid.WATER;
+    }
+
+    // Visit order length
+    public static IntSupplier explore(Object maze, String exploration) {
+        MazeGrid grid = (MazeGrid) maze;
+        ExplorationType type = ExplorationType.valueOf(exploration);
+        return () -> MazeExplorer.explore(grid, type).length;
+    }
+
+    // Path cost
+    public static IntSupplier solve(Object maze, String solver) {
+        MazeGrid grid = (MazeGrid) maze;
+        PathSolver s = SolverType.valueOf(solver).newSolver(new SearchContext());
+        return () -> s.solve(grid).getCost();
+    }
+
+    // Furthest cell from the start
+    public static IntSupplier furthestPoint(Object maze) {
+        MazeGrid grid = (MazeGrid) maze;
+        return () -> MazeGenerator.findFurthestPoint(grid, grid.getStart(), null);
+    }
+}
@@ -0,0 +1,123 @@
+/**
+ * Bidirectional Dijkstra: one search grows from the start, the other from
+ * the end over reversed edges, always advancing the side with the smaller
+ * frontier key. Entering a cell costs that cell's weight, so the backward
+ * search charges the cell it steps off rather than the one it reaches.
+ * {@code mu} is the best start-to-end cost seen where the two searches
+ * touch; once the two frontier minima sum to at least {@code mu} no
+ * cheaper path can exist and the search stops.
+ */
+public class BidirectionalSolver implements PathSolver {
+    private final SearchContext context;
+
+    // Uses the calling thread's context
+    public BidirectionalSolver() {
+        this(null);
+    }
+
+    public BidirectionalSolver(SearchContext context) {
+        this.context = context;
+    }
+
+    @Override
+    public SolveResult solve(MazeGrid grid) {
+        long startTime = System.nanoTime();
+        SearchContext ctx = context != null ? context : SearchContext.forCurrentThread();
+        int cost = search(grid, ctx);
+        if (cost < 0) {
+            return null;
+        }
+        return SolveResult.of(ctx, cost, System.nanoTime() - startTime);
+    }
+
+    // Returns the path cost, or -1 if the end is unreachable
+    public static int search(MazeGrid grid, SearchContext ctx) {
+        ctx.resetBidirectional(grid);
+        int start = grid.getStart();
+        int end = grid.getEnd();
+        int[] offsets = grid.neighborOffsets();
+        int[] dist = ctx.dist;
+        int[] distBack = ctx.distBack;
+        IndexedMinHeap heap = ctx.heap;
+        IndexedMinHeap heapBack = ctx.heapBack;
+
+        // distBack[c] is the cost of the cells after c up to and including the end
+        dist[start] = 0;
+        ctx.parent[start] = -1;
+        heap.push(start, 0);
+        distBack[end] = 0;
+        ctx.parentBack[end] = -1;
+        heapBack.push(end, 0);
+
+        long mu = start == end ? 0 : Long.MAX_VALUE;
+        int meet = start;
+
+        while (!heap.isEmpty() && !heapBack.isEmpty() && heap.peekKey() + heapBack.peekKey() < mu) {
+            if (heap.peekKey() <= heapBack.peekKey()) {
+                int current = heap.poll();
+                ctx.close(current);
+                ctx.nodesExpanded++;
+
+                for (int offset : offsets) {
+                    int next = current + offset;
+                    if (!grid.isOpen(next) || ctx.isClosed(next)) {
+                        continue;
+                    }
+                    int newDist = dist[current] + grid.getCost(next);
+                    if (newDist < dist[next]) {
+                        dist[next] = newDist;
+                        ctx.parent[next] = current;
+                        heap.push(next, newDist);
+                    }
+                    if (distBack[next] != Integer.MAX_VALUE && (long) dist[next] + distBack[next] < mu) {
+                        mu = (long) dist[next] + distBack[next];
+                        meet = next;
+                    }
+                }
+            } else {
+                int current = heapBack.poll();
+                ctx.closedBack[current >>> 6] |= 1L << current;
+                ctx.nodesExpanded++;
+                int stepCost = grid.getCost(current);
+
+                for (int offset : offsets) {
+                    int prev = current + offset;
+                    if (!grid.isOpen(prev) || (ctx.closedBack[prev >>> 6] & (1L << prev)) != 0) {
+                        continue;
+                    }
+                    int newDist = distBack[current] + stepCost;
+                    if (newDist < distBack[prev]) {
+                        distBack[prev] = newDist;
+                        ctx.parentBack[prev] = current;
+                        heapBack.push(prev, newDist);
+                    }
+                    if (dist[prev] != Integer.MAX_VALUE && (long) dist[prev] + distBack[prev] < mu) {
+                        mu = (long) dist[prev] + distBack[prev];
+                        meet = prev;
+                    }
+                }
+            }
+        }
+
+        heap.clear();
+        heapBack.clear();
+        if (mu == Long.MAX_VALUE) {
+            return -1;
+        }
+        tracePath(ctx, meet);
+        return (int) mu;
+    }
+
+    // Start-to-meet from the forward parents, then meet-to-end from the backward ones
+    private static void tracePath(SearchContext ctx, int meet) {
+        ctx.tracePath(meet);
+        int length = ctx.pathLength;
+        for (int cell = ctx.parentBack[meet]; cell != -1; cell = ctx.parentBack[cell]) {
+            length++;
+        }
+        ctx.ensurePathCapacity(length);
+        for (int cell = ctx.parentBack[meet]; cell != -1; cell = ctx.parentBack[cell]) {
+            ctx.path[ctx.pathLength++] = cell;
+        }
+    }
+}
@@ -0,0 +1,300 @@
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Abstract graph for hierarchical (HPA*) search. The maze is cut into
+ * square clusters; every open cell with an open neighbour in another
+ * cluster is an entrance node. Nodes are linked to the other entrances of
+ * their cluster by the cheapest path that stays inside the cluster, and to
+ * the entrance across the border by a single step. Since every border
+ * crossing is an entrance, any path decomposes into such edges and
+ * searches on this graph are exact, not approximate.
+ * <p>
+ * Edges are in CSR form: the edges of node n are [edgeStart[n],
+ * edgeStart[n + 1]). Costs follow the solvers: an edge costs the cells it
+ * enters, up to and including its target. Clusters are built in parallel.
+ */
+public class ClusterGraph {
+    public static final int DEFAULT_CLUSTER_SIZE = 32;
+
+    private final long mazeId;
+    private final int modCount;
+    private final int width, clusterSize, clustersX, clustersY;
+    // Nodes of cluster c are [clusterStart[c], clusterStart[c + 1]), sorted by cell
+    final int[] clusterStart;
+    final int[] nodeCell;
+    final int[] edgeStart;
+    final int[] edgeTarget;
+    final int[] edgeCost;
+    private final long buildNanos;
+
+    public ClusterGraph(MazeGrid grid) {
+        this(grid, DEFAULT_CLUSTER_SIZE);
+    }
+
+    public ClusterGraph(MazeGrid grid, int clusterSize) {
+        if (clusterSize < 2) {
+            throw new IllegalArgumentException("Cluster size must be at least 2, got " + clusterSize);
+        }
+        long startTime = System.nanoTime();
+        this.mazeId = grid.getId();
+        this.modCount = grid.getModCount();
+        this.width = grid.getWidth();
+        this.clusterSize = clusterSize;
+        this.clustersX = (grid.getWidth() + clusterSize - 1) / clusterSize;
+        this.clustersY = (grid.getHeight() + clusterSize - 1) / clusterSize;
+        int clusters = clustersX * clustersY;
+
+        // Entrances per cluster, then global numbering
+        int[][] entrances = new int[clusters][];
+        IntStream.range(0, clusters).parallel().forEach(c -> entrances[c] = findEntrances(grid, c));
+        clusterStart = new int[clusters + 1];
+        for (int c = 0; c < clusters; c++) {
+            clusterStart[c + 1] = clusterStart[c] + entrances[c].length;
+        }
+        nodeCell = new int[clusterStart[clusters]];
+        for (int c = 0; c < clusters; c++) {
+            System.arraycopy(entrances[c], 0, nodeCell, clusterStart[c], entrances[c].length);
+        }
+
+        // Edges per cluster: degree of each node, then targets and costs
+        int[][] degrees = new int[clusters][];
+        int[][] targets = new int[clusters][];
+        int[][] costs = new int[clusters][];
+        ThreadLocal<LocalSearch> searches = ThreadLocal.withInitial(() -> new LocalSearch(clusterSize));
+        IntStream.range(0, clusters).parallel().forEach(c -> {
+            LocalSearch search = searches.get();
+            int first = clusterStart[c];
+            int count = clusterStart[c + 1] - first;
+            int[] degree = new int[count];
+            int[] target = new int[count * (count + 3)];
+            int[] cost = new int[target.length];
+            int edges = 0;
+            for (int k = 0; k < count; k++) {
+                int cell = nodeCell[first + k];
+                search.run(grid, this, c, cell, -1, false);
+                for (int m = 0; m < count; m++) {
+                    int d = search.distance(nodeCell[first + m]);
+                    if (m != k && d != Integer.MAX_VALUE) {
+                        target[edges] = first + m;
+                        cost[edges++] = d;
+                        degree[k]++;
+                    }
+                }
+                for (int offset : grid.neighborOffsets()) {
+                    int next = cell + offset;
+                    int other = clusterOf(next);
+                    if (other != c && grid.isOpen(next)) {
+                        target[edges] = nodeOf(other, next);
+                        cost[edges++] = grid.getCost(next);
+                        degree[k]++;
+                    }
+                }
+            }
+            degrees[c] = degree;
+            targets[c] = Arrays.copyOf(target, edges);
+            costs[c] = Arrays.copyOf(cost, edges);
+        });
+
+        edgeStart = new int[nodeCell.length + 1];
+        for (int c = 0; c < clusters; c++) {
+            for (int k = 0; k < degrees[c].length; k++) {
+                int n = clusterStart[c] + k;
+                edgeStart[n + 1] = edgeStart[n] + degrees[c][k];
+            }
+        }
+        edgeTarget = new int[edgeStart[nodeCell.length]];
+        edgeCost = new int[edgeTarget.length];
+        for (int c = 0; c < clusters; c++) {
+            int at = edgeStart[clusterStart[c]];
+            System.arraycopy(targets[c], 0, edgeTarget, at, targets[c].length);
+            System.arraycopy(costs[c], 0, edgeCost, at, costs[c].length);
+        }
+        buildNanos = System.nanoTime() - startTime;
+    }
+
+    // Open cells of cluster c with an open neighbour outside it, ascending
+    private int[] findEntrances(MazeGrid grid, int c) {
+        int left = left(c), top = top(c);
+        int right = Math.min(left + clusterSize, grid.getWidth()) - 1;
+        int bottom = Math.min(top + clusterSize, grid.getHeight()) - 1;
+        int[] found = new int[4 * clusterSize];
+        int count = 0;
+        for (int y = top; y <= bottom; y++) {
+            boolean edgeRow = y == top || y == bottom;
+            for (int x = left; x <= right; x = edgeRow || x == right ? x + 1 : right) {
+                int cell = y * width + x;
+                // Open cells are never on the maze border, so their neighbours exist
+                if (grid.isOpen(cell)) {
+                    for (int offset : grid.neighborOffsets()) {
+                        if (clusterOf(cell + offset) != c && grid.isOpen(cell + offset)) {
+                            found[count++] = cell;
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+        return Arrays.copyOf(found, count);
+    }
+
+    public int getClusterSize() {
+        return clusterSize;
+    }
+
+    public int getClusterCount() {
+        return clustersX * clustersY;
+    }
+
+    public int getNodeCount() {
+        return nodeCell.length;
+    }
+
+    public int getEdgeCount() {
+        return edgeTarget.length;
+    }
+
+    public long getBuildNanos() {
+        return buildNanos;
+    }
+
+    // Built for this maze and its terrain is unchanged since
+    public boolean isFor(MazeGrid grid) {
+        return grid.getId() == mazeId && grid.getModCount() == modCount;
+    }
+
+    int clusterOf(int cell) {
+        return (cell / width / clusterSize) * clustersX + (cell % width) / clusterSize;
+    }
+
+    int left(int cluster) {
+        return (cluster % clustersX) * clusterSize;
+    }
+
+    int top(int cluster) {
+        return (cluster / clustersX) * clusterSize;
+    }
+
+    // Node id of an entrance cell of the given cluster, or -1
+    int nodeOf(int cluster, int cell) {
+        int i = Arrays.binarySearch(nodeCell, clusterStart[cluster], clusterStart[cluster + 1], cell);
+        return i >= 0 ? i : -1;
+    }
+
+    /**
+     * Dial's algorithm confined to one cluster, on buffers sized for a
+     * single cluster. A backward search follows edges in reverse, so its
+     * distances are costs from a cell to the source.
+     */
+    static final class LocalSearch {
+        private final int[] dist;
+        private final int[] parent;
+        private final IntQueue[] buckets = new IntQueue[MazeGrid.MAX_COST + 1];
+        private int base, width, left, top, clusterWidth, clusterHeight;
+        int settled;
+
+        LocalSearch(int clusterSize) {
+            dist = new int[clusterSize * clusterSize];
+            parent = new int[clusterSize * clusterSize];
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new IntQueue(64);
+            }
+        }
+
+        // Stops once target (a grid cell, or -1 for none) is settled; returns its cost or -1
+        int run(MazeGrid grid, ClusterGraph graph, int cluster, int source, int target, boolean backward) {
+            width = grid.getWidth();
+            left = graph.left(cluster);
+            top = graph.top(cluster);
+            clusterWidth = Math.min(graph.clusterSize, width - left);
+            clusterHeight = Math.min(graph.clusterSize, grid.getHeight() - top);
+            base = top * width + left;
+            Arrays.fill(dist, 0, clusterWidth * clusterHeight, Integer.MAX_VALUE);
+            for (IntQueue bucket : buckets) {
+                bucket.clear();
+            }
+            settled = 0;
+
+            int from = local(source);
+            int to = target < 0 ? -1 : local(target);
+            dist[from] = 0;
+            parent[from] = -1;
+            buckets[0].add(from);
+            int queued = 1;
+
+            for (int d = 0; queued > 0; d++) {
+                IntQueue bucket = buckets[d % buckets.length];
+                while (!bucket.isEmpty()) {
+                    int current = bucket.poll();
+                    queued--;
+                    if (dist[current] != d) {
+                        continue;
+                    }
+                    if (current == to) {
+                        return d;
+                    }
+                    settled++;
+                    int x = current % clusterWidth;
+                    int y = current / clusterWidth;
+                    int cell = base + y * width + x;
+                    int stepCost = backward ? grid.getCost(cell) : 0;
+                    for (int dir = 0; dir < 4; dir++) {
+                        int next;
+                        if (dir == 0) {
+                            next = y > 0 ? current - clusterWidth : -1;
+                        } else if (dir == 1) {
+                            next = y + 1 < clusterHeight ? current + clusterWidth : -1;
+                        } else if (dir == 2) {
+                            next = x > 0 ? current - 1 : -1;
+                        } else {
+                            next = x + 1 < clusterWidth ? current + 1 : -1;
+                        }
+                        if (next < 0) {
+                            continue;
+                        }
+                        int nextCell = cell(next);
+                        if (grid.isOpen(nextCell)) {
+                            int newDist = d + (backward ? stepCost : grid.getCost(nextCell));
+                            if (newDist < dist[next]) {
+                                dist[next] = newDist;
+                                parent[next] = current;
+                                buckets[newDist % buckets.length].add(next);
+                                queued++;
+                            }
+                        }
+                    }
+                }
+            }
+            return to < 0 || dist[to] == Integer.MAX_VALUE ? -1 : dist[to];
+        }
+
+        // Cost of a grid cell of the searched cluster, MAX_VALUE if not reached
+        int distance(int cell) {
+            return dist[local(cell)];
+        }
+
+        // Appends the grid cells from the source to cell, both inclusive;
+        // path needs room for a whole cluster. Returns the new length.
+        int appendPath(int cell, int[] path, int length) {
+            int start = length;
+            for (int i = local(cell); i != -1; i = parent[i]) {
+                path[length++] = cell(i);
+            }
+            // Collected end first; reverse in place
+            for (int i = start, j = length - 1; i < j; i++, j--) {
+                int t = path[i];
+                path[i] = path[j];
+                path[j] = t;
+            }
+            return length;
+        }
+
+        private int local(int cell) {
+            return (cell / width - top) * clusterWidth + cell % width - left;
+        }
+
+        private int cell(int local) {
+            return base + (local / clusterWidth) * width + local % clusterWidth;
+        }
+    }
+}
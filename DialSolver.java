@@ -0,0 +1,93 @@
+/**
+ * Dial's algorithm: Dijkstra with a circular array of FIFO buckets instead
+ * of a heap. Step costs are small integers (at most MAX_COST), so every
+ * queued distance lies within MAX_COST of the one being settled and
+ * MAX_COST + 1 buckets suffice. Runs in O(V + E + C) where C is the path
+ * cost. Stale bucket entries are skipped when their distance is outdated.
+ */
+public class DialSolver implements PathSolver {
+    private final SearchContext context;
+
+    // Uses the calling thread's context
+    public DialSolver() {
+        this(null);
+    }
+
+    public DialSolver(SearchContext context) {
+        this.context = context;
+    }
+
+    @Override
+    public SolveResult solve(MazeGrid grid) {
+        long startTime = System.nanoTime();
+        SearchContext ctx = context != null ? context : SearchContext.forCurrentThread();
+        int cost = search(grid, ctx);
+        if (cost < 0) {
+            return null;
+        }
+        return SolveResult.of(ctx, cost, System.nanoTime() - startTime);
+    }
+
+    // Returns the path cost, or -1 if the end is unreachable
+    public static int search(MazeGrid grid, SearchContext ctx) {
+        return search(grid, ctx, grid.getStart(), grid.getEnd());
+    }
+
+    // Same from start to end; an end of -1 settles every reachable cell,
+    // leaving the full distance and parent fields in ctx
+    static int search(MazeGrid grid, SearchContext ctx, int start, int end) {
+        ctx.reset(grid);
+        int[] offsets = grid.neighborOffsets();
+        int[] dist = ctx.dist;
+        int[] parent = ctx.parent;
+        IntQueue[] buckets = ctx.buckets;
+
+        dist[start] = 0;
+        parent[start] = -1;
+        buckets[0].add(start);
+        int queued = 1;
+        int pushes = 1;
+        int peak = 1;
+
+        for (int d = 0; queued > 0; d++) {
+            IntQueue bucket = buckets[d % buckets.length];
+
+            while (!bucket.isEmpty()) {
+                int current = bucket.poll();
+                queued--;
+
+                if (dist[current] != d) {
+                    continue;
+                }
+                if (current == end) {
+                    ctx.bucketPushes = pushes;
+                    ctx.peakBucketSize = peak;
+                    ctx.tracePath(end);
+                    return d;
+                }
+                ctx.nodesExpanded++;
+
+                for (int offset : offsets) {
+                    int next = current + offset;
+
+                    if (grid.isOpen(next)) {
+                        int newDist = d + grid.getCost(next);
+
+                        if (newDist < dist[next]) {
+                            dist[next] = newDist;
+                            parent[next] = current;
+                            buckets[newDist % buckets.length].add(next);
+                            pushes++;
+                            if (++queued > peak) {
+                                peak = queued;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        ctx.bucketPushes = pushes;
+        ctx.peakBucketSize = peak;
+        return -1;
+    }
+}
@@ -0,0 +1,69 @@
+/**
+ * Dijkstra over cell indices with an indexed heap (decrease-key instead of
+ * lazy deletion). All state lives in a reusable {@link SearchContext}.
+ */
+public class DijkstraSolver implements PathSolver {
+    private final SearchContext context;
+
+    // Uses the calling thread's context
+    public DijkstraSolver() {
+        this(null);
+    }
+
+    public DijkstraSolver(SearchContext context) {
+        this.context = context;
+    }
+
+    @Override
+    public SolveResult solve(MazeGrid grid) {
+        long startTime = System.nanoTime();
+        SearchContext ctx = context != null ? context : SearchContext.forCurrentThread();
+        int cost = search(grid, ctx);
+        if (cost < 0) {
+            return null;
+        }
+        return SolveResult.of(ctx, cost, System.nanoTime() - startTime);
+    }
+
+    // Returns the path cost, or -1 if the end is unreachable. The path is
+    // left in the context; no allocation happens once its buffers are sized.
+    public static int search(MazeGrid grid, SearchContext ctx) {
+        ctx.reset(grid);
+        int start = grid.getStart();
+        int end = grid.getEnd();
+        int[] offsets = grid.neighborOffsets();
+        int[] dist = ctx.dist;
+        int[] parent = ctx.parent;
+        IndexedMinHeap heap = ctx.heap;
+
+        dist[start] = 0;
+        parent[start] = -1;
+        heap.push(start, 0);
+
+        while (!heap.isEmpty()) {
+            int current = heap.poll();
+
+            if (current == end) {
+                heap.clear();
+                ctx.tracePath(end);
+                return dist[end];
+            }
+            ctx.nodesExpanded++;
+
+            for (int offset : offsets) {
+                int next = current + offset;
+
+                if (grid.isOpen(next)) {
+                    int newDist = dist[current] + grid.getCost(next);
+
+                    if (newDist < dist[next]) {
+                        dist[next] = newDist;
+                        parent[next] = current;
+                        heap.push(next, newDist);
+                    }
+                }
+            }
+        }
+        return -1;
+    }
+}
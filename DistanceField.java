@@ -0,0 +1,200 @@
+import java.util.Arrays;
+
+/**
+ * Cheapest cost from one source cell to every cell of a maze, with the
+ * parent of each cell on its cheapest path. Built by one full Dial
+ * traversal; afterwards a path to any cell is a parent walk, O(path
+ * length). Costs follow the solvers: the source's own cost is not counted.
+ */
+public class DistanceField {
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private final long mazeId;
+    private final int modCount;
+    private final int source;
+    private final int[] dist;
+    private final int[] parent;
+    private final int furthest;
+    private final int reached;
+    private final long computeNanos;
+
+    private DistanceField(MazeGrid grid, int source, int[] dist, int[] parent, long computeNanos) {
+        this.mazeId = grid.getId();
+        this.modCount = grid.getModCount();
+        this.source = source;
+        this.dist = dist;
+        this.parent = parent;
+        this.computeNanos = computeNanos;
+
+        int far = source;
+        int count = 0;
+        for (int i = 0; i < dist.length; i++) {
+            if (dist[i] != UNREACHABLE) {
+                count++;
+                if (dist[i] > dist[far]) {
+                    far = i;
+                }
+            }
+        }
+        this.furthest = far;
+        this.reached = count;
+    }
+
+    public static DistanceField compute(MazeGrid grid, int source) {
+        return compute(grid, source, SearchContext.forCurrentThread());
+    }
+
+    public static DistanceField compute(MazeGrid grid, int source, SearchContext ctx) {
+        if (source < 0 || source >= grid.getCellCount() || !grid.isOpen(source)) {
+            throw new IllegalArgumentException("Source " + source + " is not an open cell");
+        }
+        long startTime = System.nanoTime();
+        DialSolver.search(grid, ctx, source, -1);
+        int cells = grid.getCellCount();
+        return new DistanceField(grid, source, Arrays.copyOf(ctx.dist, cells), Arrays.copyOf(ctx.parent, cells),
+                System.nanoTime() - startTime);
+    }
+
+    // Field from source saved with a mapped maze, or null if there is none
+    // or its values are not exactly the cheapest costs in that maze. Parents
+    // are rebuilt from the distances in linear time, mostly by sequential
+    // scans.
+    static DistanceField read(MappedMazeGrid grid, int source) {
+        int field = 0;
+        while (field < grid.getDistanceFieldCount() && grid.getDistanceFieldSource(field) != source) {
+            field++;
+        }
+        int cells = grid.getCellCount();
+        if (field == grid.getDistanceFieldCount() || source < 0 || source >= cells || !grid.isOpen(source)) {
+            return null;
+        }
+        long startTime = System.nanoTime();
+        int[] dist = new int[cells];
+        grid.copyDistances(field, dist);
+        if (dist[source] != 0) {
+            return null;
+        }
+        // Decoding the mapped cells once beats decoding them per neighbour
+        byte[] terrain = new byte[cells];
+        grid.copyCells(terrain);
+        int[] cost = new int[MazeGrid.FOOTPATH + 1];
+        for (int type = 0; type < cost.length; type++) {
+            cost[type] = MazeGrid.costOf(type);
+        }
+
+        // No step may improve on a saved distance. A cell that costs
+        // something takes a strictly cheaper neighbour as parent, so these
+        // links cannot form a cycle.
+        int[] offsets = grid.neighborOffsets();
+        int[] parent = new int[cells];
+        Arrays.fill(parent, -2);
+        parent[source] = -1;
+        int reachable = 0;
+        int linked = 1;
+        for (int cell = 0; cell < cells; cell++) {
+            if (dist[cell] == UNREACHABLE) {
+                continue;
+            }
+            if (terrain[cell] == MazeGrid.WALL || dist[cell] < 0) {
+                return null;
+            }
+            reachable++;
+            int step = cost[terrain[cell]];
+            for (int offset : offsets) {
+                int next = cell + offset;
+                if (terrain[next] == MazeGrid.WALL) {
+                    continue;
+                }
+                if ((long) dist[next] > (long) dist[cell] + cost[terrain[next]]) {
+                    return null;
+                }
+                if (step > 0 && parent[cell] == -2 && dist[next] == dist[cell] - step) {
+                    parent[cell] = next;
+                    linked++;
+                }
+            }
+        }
+
+        // Free cells share their parent's distance; each group of them is
+        // reached from the cells already linked next to it
+        IntQueue queue = new IntQueue(1024);
+        for (int cell = 0; cell < cells; cell++) {
+            if (parent[cell] == -2 || dist[cell] == UNREACHABLE) {
+                continue;
+            }
+            int from = cell;
+            while (true) {
+                for (int offset : offsets) {
+                    int next = from + offset;
+                    if (parent[next] == -2 && terrain[next] != MazeGrid.WALL && cost[terrain[next]] == 0
+                            && dist[next] == dist[from]) {
+                        parent[next] = from;
+                        linked++;
+                        queue.add(next);
+                    }
+                }
+                if (queue.isEmpty()) {
+                    break;
+                }
+                from = queue.poll();
+            }
+        }
+        // Every distance must be the cost of an actual path, so none is too low
+        if (linked != reachable) {
+            return null;
+        }
+        return new DistanceField(grid, source, dist, parent, System.nanoTime() - startTime);
+    }
+
+    public int getSource() {
+        return source;
+    }
+
+    // Path cost from the source, or UNREACHABLE
+    public int getDistance(int cell) {
+        return dist[cell];
+    }
+
+    public boolean isReachable(int cell) {
+        return dist[cell] != UNREACHABLE;
+    }
+
+    // Cells from the source to target, both inclusive, or null if unreachable
+    public int[] pathTo(int target) {
+        if (!isReachable(target)) {
+            return null;
+        }
+        int length = 0;
+        for (int cell = target; cell != -1; cell = parent[cell]) {
+            length++;
+        }
+        int[] path = new int[length];
+        for (int cell = target; cell != -1; cell = parent[cell]) {
+            path[--length] = cell;
+        }
+        return path;
+    }
+
+    // Reachable cell with the highest path cost
+    public int getFurthestCell() {
+        return furthest;
+    }
+
+    public int getReachedCells() {
+        return reached;
+    }
+
+    public long getComputeNanos() {
+        return computeNanos;
+    }
+
+    // Heap taken by the two per-cell arrays
+    public long getSizeBytes() {
+        return (long) dist.length * 2 * Integer.BYTES;
+    }
+
+    // Still describes grid: same maze, terrain unchanged since computed
+    boolean isCurrent(MazeGrid grid) {
+        return grid.getId() == mazeId && grid.getModCount() == modCount;
+    }
+}
@@ -0,0 +1,108 @@
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * LRU cache of {@link DistanceField}s keyed by maze id and source cell,
+ * bounded by the heap the fields take. A field whose maze has changed
+ * terrain since it was computed is recomputed. On a miss for a
+ * {@link MappedMazeGrid}, a field saved in its file for that source is read
+ * back instead, if it checks out. Safe to share between threads; a miss
+ * computes the field while holding the lock.
+ */
+public class DistanceFieldCache {
+    // A quarter of the heap; fields larger than that are computed but not kept
+    public static final long DEFAULT_MAX_BYTES = Runtime.getRuntime().maxMemory() / 4;
+
+    private final long maxBytes;
+    // Least recently used first
+    private final LinkedHashMap<Key, DistanceField> fields = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+    private long hits, misses;
+
+    public DistanceFieldCache() {
+        this(DEFAULT_MAX_BYTES);
+    }
+
+    public DistanceFieldCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public synchronized DistanceField get(MazeGrid grid, int source, SearchContext ctx) {
+        Key key = new Key(grid.getId(), source);
+        DistanceField field = fields.get(key);
+        if (field != null && field.isCurrent(grid)) {
+            hits++;
+            return field;
+        }
+        misses++;
+        if (field != null) {
+            fields.remove(key);
+            bytes -= field.getSizeBytes();
+        }
+
+        // A mapped maze may carry the field in its file
+        field = grid instanceof MappedMazeGrid ? DistanceField.read((MappedMazeGrid) grid, source) : null;
+        if (field == null) {
+            field = DistanceField.compute(grid, source, ctx);
+        }
+        // A field larger than the whole budget is handed out but not kept,
+        // rather than flushing every cached field to make room for it
+        if (field.getSizeBytes() <= maxBytes) {
+            Iterator<DistanceField> eldest = fields.values().iterator();
+            while (bytes + field.getSizeBytes() > maxBytes) {
+                bytes -= eldest.next().getSizeBytes();
+                eldest.remove();
+            }
+            fields.put(key, field);
+            bytes += field.getSizeBytes();
+        }
+        return field;
+    }
+
+    public synchronized boolean contains(MazeGrid grid, int source) {
+        DistanceField field = fields.get(new Key(grid.getId(), source));
+        return field != null && field.isCurrent(grid);
+    }
+
+    public synchronized void clear() {
+        fields.clear();
+        bytes = 0;
+    }
+
+    public synchronized int size() {
+        return fields.size();
+    }
+
+    public synchronized long getSizeBytes() {
+        return bytes;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    private static final class Key {
+        final long mazeId;
+        final int source;
+
+        Key(long mazeId, int source) {
+            this.mazeId = mazeId;
+            this.source = source;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key && ((Key) o).mazeId == mazeId && ((Key) o).source == source;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(mazeId) * 31 + source;
+        }
+    }
+}
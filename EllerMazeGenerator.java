@@ -0,0 +1,121 @@
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Eller's algorithm: builds the maze one row at a time keeping only the set
+ * membership of the current row of rooms, so memory is O(width) no matter
+ * how tall the maze is. {@link #stream} hands every finished grid row to a
+ * {@link RowSink}, which lets callers write arbitrarily tall mazes without
+ * holding them in memory.
+ */
+public class EllerMazeGenerator implements MazeGenerator {
+
+    /** Receives grid rows top to bottom. The row buffer is reused, so copy it if kept. */
+    @FunctionalInterface
+    public interface RowSink {
+        void accept(int y, byte[] row);
+    }
+
+    @Override
+    public MazeGrid generate(int width, int height, long seed) {
+        MazeGrid grid = new MazeGrid(width, height);
+        grid.setSeed(seed);
+        stream(width, height, seed, grid::setRow);
+        MazeGenerator.placeStartAndEnd(grid, null);
+        return grid;
+    }
+
+    // Start/end placement needs the whole maze, so streamed rows carry terrain only
+    public void stream(int width, int height, long seed, RowSink sink) {
+        SplittableRandom rand = new SplittableRandom(seed);
+        int cols = (width - 1) / 2;
+        int rows = (height - 1) / 2;
+
+        // Set label of each column's room; labels are column indices in [0, cols)
+        int[] set = new int[cols];
+        // Union-find over labels, rebuilt per row
+        int[] parent = new int[cols];
+        int[] root = new int[cols];
+        int[] remaining = new int[cols];
+        int[] firstKept = new int[cols];
+        boolean[] hasDown = new boolean[cols];
+        boolean[] down = new boolean[cols];
+        byte[] row = new byte[width];
+
+        for (int c = 0; c < cols; c++) {
+            set[c] = c;
+        }
+        sink.accept(0, row);
+
+        for (int r = 0; r < rows; r++) {
+            boolean last = r == rows - 1;
+            for (int c = 0; c < cols; c++) {
+                parent[c] = c;
+            }
+
+            // Room row: join neighbouring rooms of different sets at random,
+            // and always on the last row so everything ends up connected
+            Arrays.fill(row, (byte) MazeGrid.WALL);
+            for (int c = 0; c < cols; c++) {
+                row[2 * c + 1] = (byte) MazeGenerator.randomTerrain(rand);
+            }
+            for (int c = 0; c + 1 < cols; c++) {
+                int a = find(parent, set[c]);
+                int b = find(parent, set[c + 1]);
+                if (a != b && (last || rand.nextBoolean())) {
+                    parent[b] = a;
+                    row[2 * c + 2] = (byte) MazeGenerator.randomTerrain(rand);
+                }
+            }
+            sink.accept(2 * r + 1, row);
+
+            // Passage row: every set carries at least one room down
+            Arrays.fill(row, (byte) MazeGrid.WALL);
+            if (!last) {
+                for (int c = 0; c < cols; c++) {
+                    root[c] = find(parent, set[c]);
+                    remaining[root[c]]++;
+                    hasDown[c] = false;
+                }
+                for (int c = 0; c < cols; c++) {
+                    int rt = root[c];
+                    remaining[rt]--;
+                    down[c] = rand.nextBoolean() || (remaining[rt] == 0 && !hasDown[rt]);
+                    if (down[c]) {
+                        hasDown[rt] = true;
+                        row[2 * c + 1] = (byte) MazeGenerator.randomTerrain(rand);
+                    }
+                }
+
+                // Rooms below a passage inherit its set, labelled by the first
+                // such column; the rest start a set of their own
+                Arrays.fill(firstKept, -1);
+                for (int c = 0; c < cols; c++) {
+                    if (down[c]) {
+                        int rt = root[c];
+                        if (firstKept[rt] < 0) {
+                            firstKept[rt] = c;
+                        }
+                        set[c] = firstKept[rt];
+                    } else {
+                        set[c] = c;
+                    }
+                }
+            }
+            sink.accept(2 * r + 2, row);
+        }
+
+        // An even height leaves one more wall row below the last passage row
+        for (int y = 2 * rows + 1; y < height; y++) {
+            sink.accept(y, row);
+        }
+    }
+
+    private static int find(int[] parent, int label) {
+        while (parent[label] != label) {
+            parent[label] = parent[parent[label]];
+            label = parent[label];
+        }
+        return label;
+    }
+}
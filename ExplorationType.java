@@ -0,0 +1,18 @@
+/**
+ * Exploration algorithms available to the Endermite stage.
+ */
+public enum ExplorationType {
+    BFS("BFS (Breadth-First)"),
+    DFS("DFS (Depth-First)");
+
+    private final String label;
+
+    ExplorationType(String label) {
+        this.label = label;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -0,0 +1,30 @@
+/**
+ * Prints generation throughput (cells per second) for every generator.
+ * Run i uses seed i, so every run sees the same mazes.
+ * Usage: java GeneratorBenchmark [size] [runs]
+ */
+public class GeneratorBenchmark {
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 1025;
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        long cells = (long) size * size;
+
+        System.out.printf("%dx%d maze, best of %d runs%n", size, size, runs);
+        for (GeneratorType type : GeneratorType.values()) {
+            MazeGenerator generator = type.newGenerator();
+            // Warm-up so the JIT has compiled the hot loops
+            for (int i = 0; i < 2; i++) {
+                generator.generate(size, size, -1 - i);
+            }
+            long best = Long.MAX_VALUE;
+            for (int i = 0; i < runs; i++) {
+                long t0 = System.nanoTime();
+                generator.generate(size, size, i);
+                best = Math.min(best, System.nanoTime() - t0);
+            }
+            System.out.printf("%-24s %8.1f ms %14.0f cells/s%n",
+                    type, best / 1e6, cells * 1e9 / best);
+        }
+    }
+}
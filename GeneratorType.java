@@ -0,0 +1,30 @@
+import java.util.function.Supplier;
+
+/**
+ * Maze generation algorithms selectable from the control panel.
+ */
+public enum GeneratorType {
+    PRIM("Prim (Cave-like)", PrimMazeGenerator::new),
+    KRUSKAL("Kruskal (Union-Find)", KruskalMazeGenerator::new),
+    WILSON("Wilson (Unbiased)", WilsonMazeGenerator::new),
+    ELLER("Eller (Row Streaming)", EllerMazeGenerator::new),
+    RECURSIVE_DIVISION("Recursive Division", RecursiveDivisionMazeGenerator::new),
+    TILED("Tiled Kruskal (Parallel)", TiledMazeGenerator::new);
+
+    private final String label;
+    private final Supplier<MazeGenerator> factory;
+
+    GeneratorType(String label, Supplier<MazeGenerator> factory) {
+        this.label = label;
+        this.factory = factory;
+    }
+
+    public MazeGenerator newGenerator() {
+        return factory.get();
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -0,0 +1,85 @@
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Compares query latency of HPA* against flat Dijkstra and A* on random
+ * start/end pairs of one large maze, checking that every HPA* cost
+ * matches Dijkstra. The cluster graph is built once up front.
+ * Usage: java HierarchicalBenchmark [size] [queries] [clusterSize] [generator]
+ */
+public class HierarchicalBenchmark {
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 4097;
+        int queries = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+        int clusterSize = args.length > 2 ? Integer.parseInt(args[2]) : ClusterGraph.DEFAULT_CLUSTER_SIZE;
+        GeneratorType generator = args.length > 3 ? GeneratorType.valueOf(args[3]) : GeneratorType.KRUSKAL;
+
+        MazeGrid grid = generator.newGenerator().generate(size, size, 1);
+        HierarchicalSolver hpa = new HierarchicalSolver(clusterSize);
+        ClusterGraph graph = hpa.graphFor(grid);
+        System.out.printf("%dx%d %s maze, %d clusters of %d, %,d nodes, %,d edges, built in %.0f ms%n",
+                size, size, generator, graph.getClusterCount(), clusterSize, graph.getNodeCount(),
+                graph.getEdgeCount(), graph.getBuildNanos() / 1e6);
+
+        SearchContext ctx = new SearchContext();
+        PathSolver[] solvers = {
+            hpa,
+            SolverType.DIJKSTRA.newSolver(ctx),
+            SolverType.A_STAR_ADMISSIBLE.newSolver(ctx),
+            SolverType.A_STAR.newSolver(ctx)
+        };
+        String[] names = {"HPA*", "Dijkstra", "A* (admissible)", "A* (Manhattan)"};
+        long[][] nanos = new long[solvers.length][queries];
+        long[] expanded = new long[solvers.length];
+
+        SplittableRandom rand = new SplittableRandom(2);
+        int[] starts = new int[queries], ends = new int[queries];
+        for (int q = 0; q < queries; q++) {
+            starts[q] = randomOpenCell(grid, rand);
+            ends[q] = randomOpenCell(grid, rand);
+        }
+
+        // First round warms up the JIT and the solvers' buffers
+        for (int round = 0; round < 2; round++) {
+            for (int q = 0; q < queries; q++) {
+                grid.setStart(starts[q]);
+                grid.setEnd(ends[q]);
+                int exact = -1;
+                for (int s = 0; s < solvers.length; s++) {
+                    long t0 = System.nanoTime();
+                    SolveResult result = solvers[s].solve(grid);
+                    nanos[s][q] = System.nanoTime() - t0;
+                    expanded[s] += round == 1 ? result.getNodesExpanded() : 0;
+                    if (s == 1) {
+                        exact = result.getCost();
+                    }
+                }
+                SolveResult check = hpa.solve(grid);
+                if (check.getCost() != exact) {
+                    throw new IllegalStateException("HPA* cost " + check.getCost() + " != Dijkstra " + exact);
+                }
+            }
+        }
+
+        System.out.printf("%d random queries, all HPA* costs match Dijkstra%n", queries);
+        System.out.printf("%-16s %10s %10s %10s %14s%n", "", "mean ms", "p50 ms", "p99 ms", "expanded/query");
+        for (int s = 0; s < solvers.length; s++) {
+            long[] sorted = nanos[s].clone();
+            Arrays.sort(sorted);
+            System.out.printf("%-16s %10.3f %10.3f %10.3f %,14d%n", names[s],
+                    Arrays.stream(sorted).average().orElse(0) / 1e6,
+                    sorted[(queries - 1) / 2] / 1e6,
+                    sorted[(int) Math.ceil(queries * 0.99) - 1] / 1e6,
+                    expanded[s] / queries);
+        }
+    }
+
+    private static int randomOpenCell(MazeGrid grid, SplittableRandom rand) {
+        int cell;
+        do {
+            cell = rand.nextInt(grid.getCellCount());
+        } while (!grid.isOpen(cell));
+        return cell;
+    }
+}
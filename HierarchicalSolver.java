@@ -0,0 +1,180 @@
+import java.util.Arrays;
+
+/**
+ * HPA*: A* over a {@link ClusterGraph}, then lazy refinement of the
+ * abstract path into cells. Start and end are linked into the graph by
+ * a local search in their own cluster (a backward one for the end), the
+ * abstract search runs with the admissible Manhattan bound, and each
+ * abstract edge on the result is expanded by one more local search.
+ * The graph is built on the first solve of a maze and reused while its
+ * terrain is unchanged; start and end may move freely. Results are
+ * cost-optimal. Not thread-safe.
+ */
+public class HierarchicalSolver implements PathSolver {
+    private final int clusterSize;
+    private ClusterGraph graph;
+    private ClusterGraph.LocalSearch local;
+
+    // Per abstract node, plus the virtual end node after the last one
+    private long[] cost = new long[0];
+    private int[] parent = new int[0];
+    private boolean[] closed = new boolean[0];
+    private final IndexedMinHeap heap = new IndexedMinHeap();
+    // Costs from the end cluster's nodes to the end
+    private int[] toEnd = new int[0];
+    private int[] path = new int[64];
+
+    public HierarchicalSolver() {
+        this(ClusterGraph.DEFAULT_CLUSTER_SIZE);
+    }
+
+    public HierarchicalSolver(int clusterSize) {
+        this.clusterSize = clusterSize;
+    }
+
+    // Graph for grid, built now if the cached one is for another maze
+    public ClusterGraph graphFor(MazeGrid grid) {
+        if (graph == null || !graph.isFor(grid)) {
+            graph = new ClusterGraph(grid, clusterSize);
+            local = new ClusterGraph.LocalSearch(clusterSize);
+        }
+        return graph;
+    }
+
+    @Override
+    public SolveResult solve(MazeGrid grid) {
+        ClusterGraph g = graphFor(grid);
+        long startTime = System.nanoTime();
+        int start = grid.getStart();
+        int end = grid.getEnd();
+        if (!grid.isOpen(start) || !grid.isOpen(end)) {
+            return null;
+        }
+        int startCluster = g.clusterOf(start);
+        int endCluster = g.clusterOf(end);
+        int nodes = g.getNodeCount();
+        int endNode = nodes;
+        int expanded = 0;
+
+        if (cost.length < nodes + 1) {
+            cost = new long[nodes + 1];
+            parent = new int[nodes + 1];
+            closed = new boolean[nodes + 1];
+        }
+        Arrays.fill(cost, 0, nodes + 1, Long.MAX_VALUE);
+        Arrays.fill(closed, 0, nodes + 1, false);
+        heap.reset(nodes + 1);
+
+        // Link the end: backward costs from its cluster's entrances
+        int endFirst = g.clusterStart[endCluster];
+        int endCount = g.clusterStart[endCluster + 1] - endFirst;
+        local.run(grid, g, endCluster, end, -1, true);
+        expanded += local.settled;
+        toEnd = ensure(toEnd, endCount);
+        for (int k = 0; k < endCount; k++) {
+            toEnd[k] = local.distance(g.nodeCell[endFirst + k]);
+        }
+
+        // Link the start; a path inside the shared cluster competes directly
+        int startFirst = g.clusterStart[startCluster];
+        int startCount = g.clusterStart[startCluster + 1] - startFirst;
+        local.run(grid, g, startCluster, start, -1, false);
+        expanded += local.settled;
+        int minStep = grid.getMinStepCost();
+        for (int k = 0; k < startCount; k++) {
+            int n = startFirst + k;
+            int d = local.distance(g.nodeCell[n]);
+            if (d != Integer.MAX_VALUE) {
+                cost[n] = d;
+                parent[n] = -1;
+                heap.push(n, d + heuristic(grid, g.nodeCell[n], end, minStep));
+            }
+        }
+        if (startCluster == endCluster && local.distance(end) != Integer.MAX_VALUE) {
+            cost[endNode] = local.distance(end);
+            parent[endNode] = -1;
+            heap.push(endNode, cost[endNode]);
+        }
+
+        // A* over the abstract graph
+        while (!heap.isEmpty()) {
+            int n = heap.poll();
+            if (n == endNode) {
+                break;
+            }
+            closed[n] = true;
+            expanded++;
+            for (int e = g.edgeStart[n]; e < g.edgeStart[n + 1]; e++) {
+                int m = g.edgeTarget[e];
+                long newCost = cost[n] + g.edgeCost[e];
+                if (!closed[m] && newCost < cost[m]) {
+                    cost[m] = newCost;
+                    parent[m] = n;
+                    heap.push(m, newCost + heuristic(grid, g.nodeCell[m], end, minStep));
+                }
+            }
+            int cell = g.nodeCell[n];
+            if (g.clusterOf(cell) == endCluster) {
+                int k = n - endFirst;
+                if (toEnd[k] != Integer.MAX_VALUE && cost[n] + toEnd[k] < cost[endNode]) {
+                    cost[endNode] = cost[n] + toEnd[k];
+                    parent[endNode] = n;
+                    heap.push(endNode, cost[endNode]);
+                }
+            }
+        }
+        if (cost[endNode] == Long.MAX_VALUE) {
+            return null;
+        }
+        int abstractPushes = heap.pushes;
+        int abstractPeak = heap.peakSize;
+
+        // Abstract path, end first
+        int hops = 0;
+        for (int n = parent[endNode]; n != -1; n = parent[n]) {
+            hops++;
+        }
+        int[] waypoints = new int[hops + 2];
+        waypoints[0] = start;
+        waypoints[hops + 1] = end;
+        for (int n = parent[endNode], i = hops; n != -1; n = parent[n], i--) {
+            waypoints[i] = g.nodeCell[n];
+        }
+
+        // Refine: crossings are single steps, everything else a local search
+        int length = 0;
+        path = ensure(path, clusterSize * clusterSize + 1);
+        path[length++] = start;
+        for (int i = 1; i < waypoints.length; i++) {
+            int from = waypoints[i - 1];
+            int to = waypoints[i];
+            if (from == to) {
+                continue;
+            }
+            int cluster = g.clusterOf(from);
+            if (cluster != g.clusterOf(to)) {
+                path = ensure(path, length + 1);
+                path[length++] = to;
+            } else {
+                local.run(grid, g, cluster, from, to, false);
+                expanded += local.settled;
+                path = ensure(path, length + clusterSize * clusterSize);
+                // Drop the repeated first cell
+                length = local.appendPath(to, path, length - 1);
+            }
+        }
+        return new SolveResult(Arrays.copyOf(path, length), (int) cost[endNode], expanded,
+                abstractPushes, abstractPeak, 0, System.nanoTime() - startTime);
+    }
+
+    // The cheapest step for all but the last step, which enters the end:
+    // never overestimates
+    private static long heuristic(MazeGrid grid, int cell, int end, int minStep) {
+        int manhattan = Math.abs(grid.x(cell) - grid.x(end)) + Math.abs(grid.y(cell) - grid.y(end));
+        return manhattan == 0 ? 0 : (long) (manhattan - 1) * minStep + grid.getCost(end);
+    }
+
+    private static int[] ensure(int[] array, int length) {
+        return array.length >= length ? array : Arrays.copyOf(array, Math.max(length, array.length << 1));
+    }
+}
@@ -0,0 +1,126 @@
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of cell indices keyed by a long priority, with
+ * decrease-key. Every cell is in the heap at most once; its slot is tracked
+ * in {@code pos} so no stale entries pile up. Buffers are kept between
+ * searches, so after warm-up pushes and polls never allocate. Also counts
+ * pushes, the peak size and re-opened cells (pushed again after a poll).
+ */
+class IndexedMinHeap {
+    private int[] heap = new int[16];
+    private long[] keys = new long[16];
+    // Heap slot + 1 of each cell, 0 when never queued, -1 once polled
+    private int[] pos = new int[0];
+    private int size;
+    int pushes;
+    int peakSize;
+    int reopened;
+
+    // Sizes the heap for a new search over the given number of cells
+    void reset(int cells) {
+        if (pos.length < cells) {
+            pos = new int[cells];
+        } else {
+            Arrays.fill(pos, 0, cells, 0);
+        }
+        size = 0;
+        pushes = 0;
+        peakSize = 0;
+        reopened = 0;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean contains(int cell) {
+        return pos[cell] > 0;
+    }
+
+    int peek() {
+        return heap[0];
+    }
+
+    long peekKey() {
+        return keys[0];
+    }
+
+    // Inserts the cell, or lowers its key if it is already queued
+    void push(int cell, long key) {
+        int slot = pos[cell] - 1;
+        if (slot < 0) {
+            if (slot == -2) {
+                reopened++;
+            }
+            if (size == heap.length) {
+                heap = Arrays.copyOf(heap, size << 1);
+                keys = Arrays.copyOf(keys, size << 1);
+            }
+            slot = size++;
+            if (size > peakSize) {
+                peakSize = size;
+            }
+        } else if (key >= keys[slot]) {
+            return;
+        }
+        pushes++;
+        siftUp(slot, cell, key);
+    }
+
+    int poll() {
+        int top = heap[0];
+        pos[top] = -1;
+        size--;
+        if (size > 0) {
+            siftDown(0, heap[size], keys[size]);
+        }
+        return top;
+    }
+
+    // Drops the queued cells; polled cells stay marked until the next reset
+    void clear() {
+        for (int i = 0; i < size; i++) {
+            pos[heap[i]] = 0;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int slot, int cell, long key) {
+        while (slot > 0) {
+            int parent = (slot - 1) >>> 1;
+            if (keys[parent] <= key) {
+                break;
+            }
+            place(slot, heap[parent], keys[parent]);
+            slot = parent;
+        }
+        place(slot, cell, key);
+    }
+
+    private void siftDown(int slot, int cell, long key) {
+        int half = size >>> 1;
+        while (slot < half) {
+            int child = 2 * slot + 1;
+            if (child + 1 < size && keys[child + 1] < keys[child]) {
+                child++;
+            }
+            if (key <= keys[child]) {
+                break;
+            }
+            place(slot, heap[child], keys[child]);
+            slot = child;
+        }
+        place(slot, cell, key);
+    }
+
+    private void place(int slot, int cell, long key) {
+        heap[slot] = cell;
+        keys[slot] = key;
+        pos[cell] = slot + 1;
+    }
+}
@@ -0,0 +1,52 @@
+import java.util.Arrays;
+
+/**
+ * Growable FIFO ring buffer of primitive ints.
+ */
+class IntQueue {
+    private int[] items;
+    private int head, size;
+
+    IntQueue(int initialCapacity) {
+        items = new int[Math.max(16, Integer.highestOneBit(Math.max(1, initialCapacity - 1)) << 1)];
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    void add(int value) {
+        if (size == items.length) {
+            grow();
+        }
+        items[(head + size) & (items.length - 1)] = value;
+        size++;
+    }
+
+    int peek() {
+        return items[head];
+    }
+
+    int poll() {
+        int value = items[head];
+        head = (head + 1) & (items.length - 1);
+        size--;
+        return value;
+    }
+
+    private void grow() {
+        int[] grown = Arrays.copyOf(items, items.length << 1);
+        // Move the wrapped-around part behind the old end
+        System.arraycopy(items, 0, grown, items.length, head);
+        items = grown;
+    }
+}
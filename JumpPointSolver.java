@@ -0,0 +1,170 @@
+/**
+ * Jump Point Search for the 4-connected weighted grid. Search states are
+ * (cell, arrival direction) and canonical paths take vertical moves before
+ * horizontal ones: a turn from a horizontal run onto a vertical one is only
+ * kept when it is forced, i.e. when stepping vertically one cell earlier is
+ * blocked or would cost more than the cell just entered. Horizontal rays
+ * therefore run without branching until a forced turn, a wall or the end;
+ * vertical rays stop where a horizontal scan finds such a jump point. Only
+ * jump points reach the open list, and the result stays cost-optimal for
+ * any terrain weights.
+ * <p>
+ * Jumps only pay off on open grids with long runs of uniform terrain. On
+ * generated mazes, corridors and per-cell terrain stop nearly every ray
+ * after a cell or two, and the four states per cell make it expand more
+ * than Dijkstra, so {@link SolverType#JPS} is marked benchmark-only.
+ */
+public class JumpPointSolver implements PathSolver {
+    private static final int UP = 0, DOWN = 1, LEFT = 2, RIGHT = 3;
+    private static final int NONE = -1;
+
+    private final SearchContext context;
+
+    // Uses the calling thread's context
+    public JumpPointSolver() {
+        this(null);
+    }
+
+    public JumpPointSolver(SearchContext context) {
+        this.context = context;
+    }
+
+    @Override
+    public SolveResult solve(MazeGrid grid) {
+        long startTime = System.nanoTime();
+        SearchContext ctx = context != null ? context : SearchContext.forCurrentThread();
+        int cost = search(grid, ctx);
+        if (cost < 0) {
+            return null;
+        }
+        return SolveResult.of(ctx, cost, System.nanoTime() - startTime);
+    }
+
+    // Returns the path cost, or -1 if the end is unreachable
+    public static int search(MazeGrid grid, SearchContext ctx) {
+        ctx.reset(grid, 4);
+        int start = grid.getStart();
+        int end = grid.getEnd();
+        int[] offsets = grid.neighborOffsets();
+        int[] dist = ctx.dist;
+        int[] parent = ctx.parent;
+        IndexedMinHeap heap = ctx.heap;
+
+        // The start has no arrival direction; its state id is never reached
+        // again with a lower cost, so UP stands in for it
+        int startState = start * 4 + UP;
+        dist[startState] = 0;
+        parent[startState] = -1;
+        heap.push(startState, 0);
+
+        while (!heap.isEmpty()) {
+            int state = heap.poll();
+            int cell = state >>> 2;
+            int dir = state & 3;
+
+            if (cell == end) {
+                heap.clear();
+                tracePath(ctx, grid, state);
+                return dist[state];
+            }
+            ctx.nodesExpanded++;
+
+            if (state == startState) {
+                for (int d = UP; d <= RIGHT; d++) {
+                    relax(ctx, state, d, d < LEFT ? jumpVertical(grid, cell, d) : jumpHorizontal(grid, cell, d));
+                }
+            } else if (dir < LEFT) {
+                relax(ctx, state, dir, jumpVertical(grid, cell, dir));
+                relax(ctx, state, LEFT, jumpHorizontal(grid, cell, LEFT));
+                relax(ctx, state, RIGHT, jumpHorizontal(grid, cell, RIGHT));
+            } else {
+                relax(ctx, state, dir, jumpHorizontal(grid, cell, dir));
+                int behind = cell - offsets[dir];
+                for (int v = UP; v <= DOWN; v++) {
+                    if (isForced(grid, cell, behind, offsets[v])) {
+                        relax(ctx, state, v, jumpVertical(grid, cell, v));
+                    }
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static void relax(SearchContext ctx, int from, int dir, long jump) {
+        if (jump == NONE) {
+            return;
+        }
+        int to = (int) jump * 4 + dir;
+        int newDist = ctx.dist[from] + (int) (jump >>> 32);
+        if (newDist < ctx.dist[to]) {
+            ctx.dist[to] = newDist;
+            ctx.parent[to] = from;
+            ctx.heap.push(to, newDist);
+        }
+    }
+
+    // A vertical turn off a horizontal run is needed unless the same cell
+    // can be reached at no extra cost by turning one cell earlier
+    private static boolean isForced(MazeGrid grid, int cell, int behind, int turn) {
+        if (!grid.isOpen(cell + turn)) {
+            return false;
+        }
+        return !grid.isOpen(behind + turn) || grid.getCost(behind + turn) > grid.getCost(cell);
+    }
+
+    // Next jump point along a horizontal ray as (cost << 32 | cell), or NONE
+    private static long jumpHorizontal(MazeGrid grid, int from, int dir) {
+        int[] offsets = grid.neighborOffsets();
+        int step = offsets[dir];
+        int end = grid.getEnd();
+        long cost = 0;
+        int behind = from;
+        for (int cell = from + step; grid.isOpen(cell); behind = cell, cell += step) {
+            cost += grid.getCost(cell);
+            if (cell == end || isForced(grid, cell, behind, offsets[UP]) || isForced(grid, cell, behind, offsets[DOWN])) {
+                return cost << 32 | cell;
+            }
+        }
+        return NONE;
+    }
+
+    // Next jump point along a vertical ray: a cell from which a horizontal
+    // scan finds a jump point, or the end
+    private static long jumpVertical(MazeGrid grid, int from, int dir) {
+        int step = grid.neighborOffsets()[dir];
+        int end = grid.getEnd();
+        long cost = 0;
+        for (int cell = from + step; grid.isOpen(cell); cell += step) {
+            cost += grid.getCost(cell);
+            if (cell == end || jumpHorizontal(grid, cell, LEFT) != NONE || jumpHorizontal(grid, cell, RIGHT) != NONE) {
+                return cost << 32 | cell;
+            }
+        }
+        return NONE;
+    }
+
+    // Expands the chain of jump points into the straight runs between them
+    private static void tracePath(SearchContext ctx, MazeGrid grid, int endState) {
+        int[] offsets = grid.neighborOffsets();
+        int length = 1;
+        for (int s = endState; ctx.parent[s] != -1; s = ctx.parent[s]) {
+            length += runLength(grid, ctx.parent[s] >>> 2, s >>> 2, s & 3);
+        }
+        ctx.ensurePathCapacity(length);
+        ctx.pathLength = length;
+
+        for (int s = endState; ctx.parent[s] != -1; s = ctx.parent[s]) {
+            int cell = s >>> 2;
+            int from = ctx.parent[s] >>> 2;
+            for (; cell != from; cell -= offsets[s & 3]) {
+                ctx.path[--length] = cell;
+            }
+        }
+        ctx.path[--length] = grid.getStart();
+    }
+
+    private static int runLength(MazeGrid grid, int from, int to, int dir) {
+        int delta = Math.abs(to - from);
+        return dir < LEFT ? delta / grid.getWidth() : delta;
+    }
+}
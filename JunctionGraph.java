@@ -0,0 +1,149 @@
+import java.util.Arrays;
+
+/**
+ * The maze with its corridors contracted: nodes are the open cells that do
+ * not have exactly two open neighbours (junctions and dead ends), and every
+ * chain of two-neighbour cells between two nodes becomes one directed edge
+ * each way. An edge costs the cells it enters, i.e. the corridor interior
+ * plus its target, matching the solvers; it also records the first step,
+ * so it can be walked again to expand a path back into cells.
+ * <p>
+ * Edges are in CSR form: the edges of node n are [edgeStart[n],
+ * edgeStart[n + 1]). Node cells are ascending, so a cell's node is found by
+ * binary search and the graph needs no per-cell index.
+ */
+public class JunctionGraph {
+    private final long mazeId;
+    private final int modCount;
+    final int[] nodeCell;
+    final int[] edgeStart;
+    final int[] edgeTarget;
+    final int[] edgeCost;
+    // Index into neighborOffsets() of the first step along the edge
+    final byte[] edgeDir;
+    private final long buildNanos;
+
+    public JunctionGraph(MazeGrid grid) {
+        long startTime = System.nanoTime();
+        this.mazeId = grid.getId();
+        this.modCount = grid.getModCount();
+        int cells = grid.getCellCount();
+
+        int count = 0;
+        for (int cell = 0; cell < cells; cell++) {
+            if (isNode(grid, cell)) {
+                count++;
+            }
+        }
+        nodeCell = new int[count];
+        count = 0;
+        for (int cell = 0; cell < cells; cell++) {
+            if (isNode(grid, cell)) {
+                nodeCell[count++] = cell;
+            }
+        }
+
+        int[] offsets = grid.neighborOffsets();
+        int[] target = new int[nodeCell.length * offsets.length];
+        int[] cost = new int[target.length];
+        byte[] dir = new byte[target.length];
+        edgeStart = new int[nodeCell.length + 1];
+        Corridor corridor = new Corridor();
+        int edges = 0;
+        for (int n = 0; n < nodeCell.length; n++) {
+            int cell = nodeCell[n];
+            for (int d = 0; d < offsets.length; d++) {
+                if (grid.isOpen(cell + offsets[d])) {
+                    walk(grid, cell, d, -1, corridor);
+                    // A corridor leading back to its own node never helps
+                    if (corridor.end != cell) {
+                        target[edges] = nodeOf(corridor.end);
+                        cost[edges] = corridor.cost;
+                        dir[edges++] = (byte) d;
+                    }
+                }
+            }
+            edgeStart[n + 1] = edges;
+        }
+        edgeTarget = Arrays.copyOf(target, edges);
+        edgeCost = Arrays.copyOf(cost, edges);
+        edgeDir = Arrays.copyOf(dir, edges);
+        buildNanos = System.nanoTime() - startTime;
+    }
+
+    // Open cell that does not have exactly two open neighbours
+    static boolean isNode(MazeGrid grid, int cell) {
+        if (!grid.isOpen(cell)) {
+            return false;
+        }
+        int open = 0;
+        for (int offset : grid.neighborOffsets()) {
+            if (grid.isOpen(cell + offset)) {
+                open++;
+            }
+        }
+        return open != 2;
+    }
+
+    /** Where a corridor walk ended, what it cost and the cells it entered. */
+    static final class Corridor {
+        int end;
+        int cost;
+        int[] cells = new int[64];
+        int length;
+    }
+
+    // Leaves from in direction dir and follows the corridor until a node, the
+    // stop cell (-1 for none) or from again when the corridor is a loop
+    static void walk(MazeGrid grid, int from, int dir, int stop, Corridor out) {
+        int[] offsets = grid.neighborOffsets();
+        int prev = from;
+        int cell = from + offsets[dir];
+        out.cost = 0;
+        out.length = 0;
+        while (true) {
+            out.cost += grid.getCost(cell);
+            if (out.length == out.cells.length) {
+                out.cells = Arrays.copyOf(out.cells, out.length << 1);
+            }
+            out.cells[out.length++] = cell;
+            if (cell == stop || cell == from || isNode(grid, cell)) {
+                out.end = cell;
+                return;
+            }
+            int next = -1;
+            for (int offset : offsets) {
+                int candidate = cell + offset;
+                if (candidate != prev && grid.isOpen(candidate)) {
+                    next = candidate;
+                    break;
+                }
+            }
+            prev = cell;
+            cell = next;
+        }
+    }
+
+    public int getNodeCount() {
+        return nodeCell.length;
+    }
+
+    public int getEdgeCount() {
+        return edgeTarget.length;
+    }
+
+    public long getBuildNanos() {
+        return buildNanos;
+    }
+
+    // Built for this maze and its terrain is unchanged since
+    public boolean isFor(MazeGrid grid) {
+        return grid.getId() == mazeId && grid.getModCount() == modCount;
+    }
+
+    // Node id of a cell, or -1 if it is inside a corridor
+    int nodeOf(int cell) {
+        int i = Arrays.binarySearch(nodeCell, cell);
+        return i >= 0 ? i : -1;
+    }
+}
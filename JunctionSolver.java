@@ -0,0 +1,220 @@
+import java.util.Arrays;
+
+/**
+ * Dijkstra or A* over a {@link JunctionGraph}, so a search settles one
+ * node per junction or dead end instead of one per corridor cell. A start
+ * or end inside a corridor is linked to the nodes at both ends of it, and
+ * the result is expanded back into cells by walking each corridor on it.
+ * The graph is built on the first solve of a maze and reused while its
+ * terrain is unchanged; start and end may move freely. Results are
+ * cost-optimal. Not thread-safe.
+ */
+public class JunctionSolver implements PathSolver {
+    private final boolean aStar;
+    private JunctionGraph graph;
+    private final JunctionGraph.Corridor corridor = new JunctionGraph.Corridor();
+
+    // Per node, plus the virtual end node after the last one
+    private long[] cost = new long[0];
+    private int[] parent = new int[0];
+    private int[] parentEdge = new int[0];
+    private boolean[] closed = new boolean[0];
+    private final IndexedMinHeap heap = new IndexedMinHeap();
+    // Links of start and end to the nodes of their corridor
+    private final int[] startNode = new int[2], startDir = new int[2], startCost = new int[2];
+    private final int[] endNode = new int[2], endDir = new int[2], endCost = new int[2];
+    private int[] path = new int[64];
+
+    public JunctionSolver() {
+        this(false);
+    }
+
+    // aStar guides the search with the admissible Manhattan bound
+    public JunctionSolver(boolean aStar) {
+        this.aStar = aStar;
+    }
+
+    // Graph for grid, built now if the cached one is for another maze
+    public JunctionGraph graphFor(MazeGrid grid) {
+        if (graph == null || !graph.isFor(grid)) {
+            graph = new JunctionGraph(grid);
+        }
+        return graph;
+    }
+
+    @Override
+    public SolveResult solve(MazeGrid grid) {
+        JunctionGraph g = graphFor(grid);
+        long startTime = System.nanoTime();
+        int start = grid.getStart();
+        int end = grid.getEnd();
+        if (!grid.isOpen(start) || !grid.isOpen(end)) {
+            return null;
+        }
+        if (start == end) {
+            return new SolveResult(new int[] {start}, 0, 0, 0, 0, 0, System.nanoTime() - startTime);
+        }
+        int nodes = g.getNodeCount();
+        int target = nodes;
+        int minStep = aStar ? grid.getMinStepCost() : 0;
+
+        if (cost.length < nodes + 1) {
+            cost = new long[nodes + 1];
+            parent = new int[nodes + 1];
+            parentEdge = new int[nodes + 1];
+            closed = new boolean[nodes + 1];
+        }
+        Arrays.fill(cost, 0, nodes + 1, Long.MAX_VALUE);
+        Arrays.fill(closed, 0, nodes + 1, false);
+        heap.reset(nodes + 1);
+
+        // Link the end: costs from its corridor's nodes into it
+        int endLinks = link(grid, g, end, -1, endNode, endDir, endCost);
+        for (int k = 0; k < endLinks; k++) {
+            // Walked from the end; entering the end instead of the node
+            endCost[k] += grid.getCost(end) - grid.getCost(g.nodeCell[endNode[k]]);
+        }
+
+        // Link the start; along a corridor shared with the end, reaching
+        // the end directly competes with every route through the graph
+        int startLinks = link(grid, g, start, g.nodeOf(end) < 0 ? end : -1, startNode, startDir, startCost);
+        for (int k = 0; k < startLinks; k++) {
+            int n = startNode[k];
+            if (n == target) {
+                if (startCost[k] < cost[target]) {
+                    cost[target] = startCost[k];
+                    parent[target] = -1;
+                    parentEdge[target] = startDir[k];
+                    heap.push(target, cost[target]);
+                }
+            } else if (startCost[k] < cost[n]) {
+                cost[n] = startCost[k];
+                parent[n] = -1;
+                parentEdge[n] = startDir[k];
+                heap.push(n, cost[n] + heuristic(grid, g.nodeCell[n], end, minStep));
+            }
+        }
+
+        int expanded = 0;
+        while (!heap.isEmpty()) {
+            int n = heap.poll();
+            if (n == target) {
+                break;
+            }
+            closed[n] = true;
+            expanded++;
+            for (int e = g.edgeStart[n]; e < g.edgeStart[n + 1]; e++) {
+                int m = g.edgeTarget[e];
+                long newCost = cost[n] + g.edgeCost[e];
+                if (!closed[m] && newCost < cost[m]) {
+                    cost[m] = newCost;
+                    parent[m] = n;
+                    parentEdge[m] = e;
+                    heap.push(m, newCost + heuristic(grid, g.nodeCell[m], end, minStep));
+                }
+            }
+            for (int k = 0; k < endLinks; k++) {
+                if (endNode[k] == n && cost[n] + endCost[k] < cost[target]) {
+                    cost[target] = cost[n] + endCost[k];
+                    parent[target] = n;
+                    parentEdge[target] = k;
+                    heap.push(target, cost[target]);
+                }
+            }
+        }
+        if (cost[target] == Long.MAX_VALUE) {
+            return null;
+        }
+
+        // Expand: start corridor, graph edges in order, end corridor
+        int length = 0;
+        path[length++] = start;
+        int last = parent[target];
+        if (last == -1) {
+            JunctionGraph.walk(grid, start, parentEdge[target], end, corridor);
+            length = append(length, corridor.cells, corridor.length);
+        } else {
+            length = expand(grid, g, start, end, last, length);
+        }
+        return new SolveResult(Arrays.copyOf(path, length), (int) cost[target], expanded,
+                heap.pushes, heap.peakSize, 0, System.nanoTime() - startTime);
+    }
+
+    // Appends the route through the graph ending at node last
+    private int expand(MazeGrid grid, JunctionGraph g, int start, int end, int last, int length) {
+        int hops = 0;
+        for (int n = last; n != -1; n = parent[n]) {
+            hops++;
+        }
+        int[] chain = new int[hops];
+        for (int n = last, i = hops - 1; n != -1; n = parent[n], i--) {
+            chain[i] = n;
+        }
+        if (start != g.nodeCell[chain[0]]) {
+            JunctionGraph.walk(grid, start, parentEdge[chain[0]], -1, corridor);
+            length = append(length, corridor.cells, corridor.length);
+        }
+        for (int i = 1; i < hops; i++) {
+            int e = parentEdge[chain[i]];
+            JunctionGraph.walk(grid, g.nodeCell[chain[i - 1]], g.edgeDir[e], -1, corridor);
+            length = append(length, corridor.cells, corridor.length);
+        }
+        if (end != g.nodeCell[last]) {
+            // Walked from the end to the node: append it backwards, node excluded
+            JunctionGraph.walk(grid, end, endDir[parentEdge[g.getNodeCount()]], -1, corridor);
+            path = ensure(path, length + corridor.length);
+            for (int i = corridor.length - 2; i >= 0; i--) {
+                path[length++] = corridor.cells[i];
+            }
+            path[length++] = end;
+        }
+        return length;
+    }
+
+    // Nodes reachable from cell along its corridor, with the first step and
+    // walk cost to each; a node cell links to itself. Reaching stop is
+    // reported as the virtual end node.
+    private int link(MazeGrid grid, JunctionGraph g, int cell, int stop, int[] node, int[] dir, int[] walkCost) {
+        int self = g.nodeOf(cell);
+        if (self >= 0) {
+            node[0] = self;
+            dir[0] = -1;
+            walkCost[0] = 0;
+            return 1;
+        }
+        int[] offsets = grid.neighborOffsets();
+        int links = 0;
+        for (int d = 0; d < offsets.length; d++) {
+            if (grid.isOpen(cell + offsets[d])) {
+                JunctionGraph.walk(grid, cell, d, stop, corridor);
+                // A corridor loop without junctions links nowhere
+                if (corridor.end != cell) {
+                    node[links] = corridor.end == stop ? g.getNodeCount() : g.nodeOf(corridor.end);
+                    dir[links] = d;
+                    walkCost[links++] = corridor.cost;
+                }
+            }
+        }
+        return links;
+    }
+
+    private int append(int length, int[] cells, int count) {
+        path = ensure(path, length + count);
+        System.arraycopy(cells, 0, path, length, count);
+        return length + count;
+    }
+
+    // The cheapest step for all but the last step, which enters the end:
+    // never overestimates. Zero without aStar.
+    private long heuristic(MazeGrid grid, int cell, int end, int minStep) {
+        if (!aStar) {
+            return 0;
+        }
+        int manhattan = Math.abs(grid.x(cell) - grid.x(end)) + Math.abs(grid.y(cell) - grid.y(end));
+        return manhattan == 0 ? 0 : (long) (manhattan - 1) * minStep + grid.getCost(end);
+    }
+
+    private static int[] ensure(int[] array, int length) {
+        return array.length >= length ? array : Arrays.copyOf(array, Math.max(length, array.length << 1));
+    }
+}
@@ -0,0 +1,74 @@
+import java.util.SplittableRandom;
+
+/**
+ * Randomized Kruskal: rooms sit on odd coordinates and the walls between
+ * neighbouring rooms are removed in random order whenever they separate two
+ * different sets, tracked with a union-find.
+ */
+public class KruskalMazeGenerator implements MazeGenerator {
+
+    @Override
+    public MazeGrid generate(int width, int height, long seed) {
+        MazeGrid grid = new MazeGrid(width, height);
+        grid.setSeed(seed);
+        carve(grid, 0, 0, (width - 1) / 2, (height - 1) / 2, new SplittableRandom(seed));
+        grid.invalidate();
+        MazeGenerator.placeStartAndEnd(grid, null);
+        return grid;
+    }
+
+    // Carves a perfect maze over the cols x rows block of rooms whose top-left
+    // room is (left, top), touching no cell outside the block. Writes with
+    // putCell, so the caller invalidates the grid afterwards
+    static void carve(MazeGrid grid, int left, int top, int cols, int rows, SplittableRandom rand) {
+        // Walls between rooms as room * 2 + (0 = right neighbour, 1 = lower neighbour)
+        int[] edges = new int[2 * cols * rows];
+        int edgeCount = 0;
+        int[] parent = new int[cols * rows];
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                int room = r * cols + c;
+                parent[room] = room;
+                grid.putCell(2 * (left + c) + 1, 2 * (top + r) + 1, MazeGenerator.randomTerrain(rand));
+                if (c + 1 < cols) {
+                    edges[edgeCount++] = room * 2;
+                }
+                if (r + 1 < rows) {
+                    edges[edgeCount++] = room * 2 + 1;
+                }
+            }
+        }
+
+        // Fisher-Yates shuffle, consuming each edge as it is drawn
+        for (int i = edgeCount - 1; i >= 0; i--) {
+            int j = rand.nextInt(i + 1);
+            int edge = edges[j];
+            edges[j] = edges[i];
+
+            int a = edge >>> 1;
+            boolean down = (edge & 1) != 0;
+            int b = down ? a + cols : a + 1;
+            int rootA = find(parent, a);
+            int rootB = find(parent, b);
+            if (rootA != rootB) {
+                parent[rootB] = rootA;
+                int x = 2 * (left + a % cols) + 1;
+                int y = 2 * (top + a / cols) + 1;
+                if (down) {
+                    grid.putCell(x, y + 1, MazeGenerator.randomTerrain(rand));
+                } else {
+                    grid.putCell(x + 1, y, MazeGenerator.randomTerrain(rand));
+                }
+            }
+        }
+    }
+
+    // Root lookup with path halving
+    static int find(int[] parent, int room) {
+        while (parent[room] != room) {
+            parent[room] = parent[parent[room]];
+            room = parent[room];
+        }
+        return room;
+    }
+}
@@ -0,0 +1,120 @@
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+
+/**
+ * Read-only maze backed by a memory-mapped {@link MazeFile}. Cells are
+ * decoded from the packed body on every access, so the grid costs no heap
+ * beyond the mapping itself. Start and end may still be moved.
+ */
+public class MappedMazeGrid extends MazeGrid {
+    private static final int CHUNK_MASK = (1 << MazeFile.CHUNK_SHIFT) - 1;
+
+    // Two cells per byte, even cell in the low nibble
+    private final ByteBuffer body;
+    // Per distance field, its source cell and the chunks of one int per cell
+    private final int[] sources;
+    private final ByteBuffer[][] distances;
+
+    MappedMazeGrid(int width, int height, ByteBuffer body, int[] sources, ByteBuffer[][] distances) {
+        super(width, height, false);
+        this.body = body;
+        this.sources = sources;
+        this.distances = distances;
+    }
+
+    @Override
+    public int getCell(int index) {
+        return (body.get(index >>> 1) >>> ((index & 1) << 2)) & 0xF;
+    }
+
+    @Override
+    public int getCost(int index) {
+        return costOf(getCell(index));
+    }
+
+    @Override
+    public boolean isOpen(int index) {
+        return getCell(index) != WALL;
+    }
+
+    @Override
+    public void setCell(int index, int type) {
+        throw new UnsupportedOperationException("Mapped mazes are read-only");
+    }
+
+    @Override
+    void putCell(int x, int y, int type) {
+        throw new UnsupportedOperationException("Mapped mazes are read-only");
+    }
+
+    @Override
+    public void setRow(int y, byte[] row) {
+        throw new UnsupportedOperationException("Mapped mazes are read-only");
+    }
+
+    @Override
+    public void copyCells(byte[] dst) {
+        byte[] packed = new byte[1 << 16];
+        ByteBuffer view = body.duplicate();
+        int cell = 0;
+        while (view.hasRemaining()) {
+            int length = Math.min(packed.length, view.remaining());
+            view.get(packed, 0, length);
+            for (int i = 0; i < length; i++) {
+                dst[cell++] = (byte) (packed[i] & 0xF);
+                // The last byte of an odd cell count holds a single cell
+                if (cell < getCellCount()) {
+                    dst[cell++] = (byte) (packed[i] >>> 4 & 0xF);
+                }
+            }
+        }
+    }
+
+    @Override
+    int[] typeCounts() {
+        int[] counts = new int[FOOTPATH + 1];
+        for (int i = 0; i < body.limit(); i++) {
+            int packed = body.get(i);
+            counts[packed & 0xF]++;
+            counts[(packed >>> 4) & 0xF]++;
+        }
+        // The padding nibble of an odd cell count is not a cell
+        if ((getCellCount() & 1) != 0) {
+            counts[WALL]--;
+        }
+        return counts;
+    }
+
+    public int getDistanceFieldCount() {
+        return distances.length;
+    }
+
+    public int getDistanceFieldSource(int field) {
+        return sources[field];
+    }
+
+    public boolean hasDistanceField(int source) {
+        for (int s : sources) {
+            if (s == source) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Value of the given distance field at a cell, as saved
+    public int getDistance(int field, int cell) {
+        return distances[field][cell >>> MazeFile.CHUNK_SHIFT].getInt((cell & CHUNK_MASK) << 2);
+    }
+
+    // Copies a whole distance field, in cell order, into dst
+    void copyDistances(int field, int[] dst) {
+        int offset = 0;
+        for (ByteBuffer chunk : distances[field]) {
+            IntBuffer ints = chunk.asIntBuffer();
+            int length = ints.remaining();
+            ints.get(dst, offset, length);
+            offset += length;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Headless entry point tying generator, explorers and solvers together.
+ * Records {@link RunMetrics} for the latest generate / explore / solve
+ * calls. Not thread-safe: use one engine per thread.
+ */
+public class MazeEngine {
+    private final Map<GeneratorType, MazeGenerator> generators = new EnumMap<>(GeneratorType.class);
+    private final Map<SolverType, PathSolver> solvers = new EnumMap<>(SolverType.class);
+    // Search buffers for the solvers, null for the calling thread's
+    private final SearchContext context;
+    private final DistanceFieldCache distanceFields;
+    private RunMetrics metrics = new RunMetrics();
+
+    public MazeEngine() {
+        this(null);
+    }
+
+    public MazeEngine(SearchContext context) {
+        this(context, new DistanceFieldCache());
+    }
+
+    // The cache may be shared between engines
+    public MazeEngine(SearchContext context, DistanceFieldCache distanceFields) {
+        this.context = context;
+        this.distanceFields = distanceFields;
+    }
+
+    public MazeGrid generate(int width, int height) {
+        return generate(width, height, GeneratorType.PRIM);
+    }
+
+    public MazeGrid generate(int width, int height, GeneratorType type) {
+        return generate(width, height, type, MazeGenerator.randomSeed());
+    }
+
+    // Starts a new set of metrics
+    public MazeGrid generate(int width, int height, GeneratorType type, long seed) {
+        MazeGenerator generator = generators.computeIfAbsent(type, GeneratorType::newGenerator);
+        long bytes = RunMetrics.allocatedBytes();
+        long start = System.nanoTime();
+        MazeGrid grid = generator.generate(width, height, seed);
+        long nanos = System.nanoTime() - start;
+        metrics = new RunMetrics();
+        metrics.recordGeneration(type, grid, nanos, bytes);
+        return grid;
+    }
+
+    // Maps a saved maze; starts a new set of metrics like generate. Distance
+    // fields saved with it are read on the first query from their source.
+    public MappedMazeGrid open(Path file) throws IOException {
+        long bytes = RunMetrics.allocatedBytes();
+        long start = System.nanoTime();
+        MappedMazeGrid grid = MazeFile.map(file);
+        long nanos = System.nanoTime() - start;
+        metrics = new RunMetrics();
+        metrics.recordLoad(grid, nanos, bytes);
+        return grid;
+    }
+
+    // Includes the distance field from the start when one is cached or the
+    // maze was opened with one
+    public void save(MazeGrid grid, Path file) throws IOException {
+        if (distanceFields.contains(grid, grid.getStart()) || (grid instanceof MappedMazeGrid
+                && ((MappedMazeGrid) grid).hasDistanceField(grid.getStart()))) {
+            MazeFile.save(grid, file, distanceField(grid, grid.getStart()));
+        } else {
+            MazeFile.save(grid, file);
+        }
+    }
+
+    public int[] explore(MazeGrid grid, ExplorationType type) {
+        long bytes = RunMetrics.allocatedBytes();
+        long start = System.nanoTime();
+        int[] order = MazeExplorer.explore(grid, type);
+        metrics.recordExploration(type, order.length, System.nanoTime() - start, bytes);
+        return order;
+    }
+
+    public SolveResult solve(MazeGrid grid, SolverType type) {
+        PathSolver solver = solvers.computeIfAbsent(type, t -> t.newSolver(context));
+        long bytes = RunMetrics.allocatedBytes();
+        long start = System.nanoTime();
+        SolveResult result = solver.solve(grid);
+        metrics.recordSolve(type, result, System.nanoTime() - start, bytes);
+        return result;
+    }
+
+    // Cheapest costs from source to every cell, computed once per maze and source
+    public DistanceField distanceField(MazeGrid grid, int source) {
+        return distanceFields.get(grid, source, context != null ? context : SearchContext.forCurrentThread());
+    }
+
+    // Cheapest path from source to target via the cached distance field, or
+    // null if unreachable; nodes expanded is 0 when the field was cached
+    public SolveResult pathTo(MazeGrid grid, int source, int target) {
+        long start = System.nanoTime();
+        boolean cached = distanceFields.contains(grid, source);
+        DistanceField field = distanceField(grid, source);
+        int[] path = field.pathTo(target);
+        if (path == null) {
+            return null;
+        }
+        return new SolveResult(path, field.getDistance(target), cached ? 0 : field.getReachedCells(),
+                System.nanoTime() - start);
+    }
+
+    public DistanceFieldCache getDistanceFieldCache() {
+        return distanceFields;
+    }
+
+    // Time of the last solve alone, without copying the metrics
+    long lastSolveNanos() {
+        return metrics.getSolveNanos();
+    }
+
+    // Snapshot of the metrics recorded so far for the current maze
+    public RunMetrics getMetrics() {
+        return metrics.copy();
+    }
+}
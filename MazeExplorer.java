@@ -0,0 +1,95 @@
+import java.util.Arrays;
+
+/**
+ * Exploration stage (Endermite): returns the order in which cells are visited
+ * from start until the end is reached. Runs in O(cells) with a visited
+ * bitmap and primitive queue/stack; cells are marked when queued, so each
+ * one is visited at most once.
+ */
+public class MazeExplorer {
+
+    public static int[] explore(MazeGrid grid, ExplorationType type) {
+        return type == ExplorationType.DFS ? exploreDFS(grid) : exploreBFS(grid);
+    }
+
+    public static int[] exploreBFS(MazeGrid grid) {
+        int[] offsets = grid.neighborOffsets();
+        int end = grid.getEnd();
+        long[] visited = new long[(grid.getCellCount() + 63) >>> 6];
+        IntQueue queue = new IntQueue(grid.getWidth() + grid.getHeight());
+        int[] sequence = new int[64];
+        int count = 0;
+
+        queue.add(grid.getStart());
+        mark(visited, grid.getStart());
+
+        while (!queue.isEmpty()) {
+            int current = queue.poll();
+            if (count == sequence.length) {
+                sequence = Arrays.copyOf(sequence, count << 1);
+            }
+            sequence[count++] = current;
+
+            if (current == end) {
+                break;
+            }
+
+            for (int offset : offsets) {
+                int next = current + offset;
+
+                if (grid.isOpen(next) && !isMarked(visited, next)) {
+                    mark(visited, next);
+                    queue.add(next);
+                }
+            }
+        }
+        return Arrays.copyOf(sequence, count);
+    }
+
+    public static int[] exploreDFS(MazeGrid grid) {
+        int[] offsets = grid.neighborOffsets();
+        int end = grid.getEnd();
+        long[] visited = new long[(grid.getCellCount() + 63) >>> 6];
+        int[] stack = new int[64];
+        int top = 0;
+        int[] sequence = new int[64];
+        int count = 0;
+
+        stack[top++] = grid.getStart();
+        mark(visited, grid.getStart());
+
+        while (top > 0) {
+            int current = stack[--top];
+            if (count == sequence.length) {
+                sequence = Arrays.copyOf(sequence, count << 1);
+            }
+            sequence[count++] = current;
+
+            if (current == end) {
+                break;
+            }
+
+            // Pushed in reverse so the first direction is popped first
+            for (int i = offsets.length - 1; i >= 0; i--) {
+                int next = current + offsets[i];
+
+                if (grid.isOpen(next) && !isMarked(visited, next)) {
+                    mark(visited, next);
+                    if (top == stack.length) {
+                        stack = Arrays.copyOf(stack, top << 1);
+                    }
+                    stack[top++] = next;
+                }
+            }
+        }
+        return Arrays.copyOf(sequence, count);
+    }
+
+    private static boolean isMarked(long[] bits, int cell) {
+        return (bits[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    private static void mark(long[] bits, int cell) {
+        bits[cell >>> 6] |= 1L << cell;
+    }
+}
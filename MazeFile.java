@@ -0,0 +1,253 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Binary maze file, little-endian:
+ * <pre>
+ *  0  "MAZE"
+ *  4  short version, short number of distance fields
+ *  8  int width, int height
+ * 16  long seed
+ * 24  int start, int end
+ * 32  int source cell of each distance field, zero-padded up to HEADER_SIZE
+ * 64  terrain, two cells per byte (even cell in the low nibble)
+ *     then, 8-byte aligned, each distance field as one int per cell
+ * </pre>
+ * {@link #map} checks the terrain in one sequential pass, so a corrupt file
+ * fails to open instead of failing a solver later, but copies nothing onto
+ * the heap; cells are paged in again as they are touched. {@link #save} writes a temporary file next to the target and
+ * renames it into place, so a maze mapped from the target keeps reading the
+ * old file and a failed save leaves it intact.
+ */
+public class MazeFile {
+    public static final String EXTENSION = ".maze";
+
+    private static final byte[] MAGIC = {'M', 'A', 'Z', 'E'};
+    private static final int VERSION = 1;
+    static final int HEADER_SIZE = 64;
+    private static final int SOURCES_OFFSET = 32;
+    public static final int MAX_DISTANCE_FIELDS = (HEADER_SIZE - SOURCES_OFFSET) / Integer.BYTES;
+    private static final int WRITE_BUFFER_SIZE = 1 << 20;
+
+    // Distance fields are mapped in chunks of this many ints; a single
+    // mapping cannot exceed 2 GB
+    static final int CHUNK_SHIFT = 28;
+
+    private MazeFile() {
+    }
+
+    public static void save(MazeGrid grid, Path file) throws IOException {
+        save(grid, file, new DistanceField[0]);
+    }
+
+    // The fields must be current for grid; MappedMazeGrid reads them back
+    public static void save(MazeGrid grid, Path file, DistanceField... distanceFields) throws IOException {
+        if (distanceFields.length > MAX_DISTANCE_FIELDS) {
+            throw new IllegalArgumentException("At most " + MAX_DISTANCE_FIELDS + " distance fields, got " + distanceFields.length);
+        }
+        for (DistanceField field : distanceFields) {
+            if (!field.isCurrent(grid)) {
+                throw new IllegalArgumentException("Distance field from " + field.getSource() + " is not for this maze");
+            }
+        }
+        Path target = file.toAbsolutePath();
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                write(grid, channel, distanceFields);
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void write(MazeGrid grid, FileChannel channel, DistanceField[] distanceFields) throws IOException {
+        int cells = grid.getCellCount();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put(MAGIC)
+                .putShort((short) VERSION)
+                .putShort((short) distanceFields.length)
+                .putInt(grid.getWidth())
+                .putInt(grid.getHeight())
+                .putLong(grid.getSeed())
+                .putInt(grid.getStart())
+                .putInt(grid.getEnd());
+        for (DistanceField field : distanceFields) {
+            buffer.putInt(field.getSource());
+        }
+        buffer.position(HEADER_SIZE);
+
+        for (int i = 0; i < cells; i += 2) {
+            if (!buffer.hasRemaining()) {
+                drain(buffer, channel);
+            }
+            int high = i + 1 < cells ? grid.getCell(i + 1) : MazeGrid.WALL;
+            buffer.put((byte) (grid.getCell(i) | high << 4));
+        }
+
+        long written = HEADER_SIZE + bodySize(cells);
+        if (buffer.remaining() < Long.BYTES) {
+            drain(buffer, channel);
+        }
+        buffer.put(new byte[(int) (distanceOffset(cells) - written)]);
+        for (DistanceField field : distanceFields) {
+            for (int i = 0; i < cells; i++) {
+                if (buffer.remaining() < Integer.BYTES) {
+                    drain(buffer, channel);
+                }
+                buffer.putInt(field.getDistance(i));
+            }
+        }
+        drain(buffer, channel);
+    }
+
+    private static void drain(ByteBuffer buffer, FileChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    // Read-only view of the file; solvers run directly on the mapping
+    public static MappedMazeGrid map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE) {
+                throw new IOException(file.getFileName() + " is not a maze file");
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            for (byte b : MAGIC) {
+                if (header.get() != b) {
+                    throw new IOException(file.getFileName() + " is not a maze file");
+                }
+            }
+            int version = header.getShort();
+            if (version != VERSION) {
+                throw new IOException("Unsupported maze file version " + version);
+            }
+            int fields = header.getShort();
+            int width = header.getInt();
+            int height = header.getInt();
+            long seed = header.getLong();
+            int start = header.getInt();
+            int end = header.getInt();
+            if (width < 3 || height < 3 || (long) width * height > Integer.MAX_VALUE
+                    || fields < 0 || fields > MAX_DISTANCE_FIELDS) {
+                throw new IOException("Corrupt maze file header: " + width + "x" + height + ", " + fields + " distance fields");
+            }
+
+            int cells = width * height;
+            long expected = distanceOffset(cells) + (long) fields * cells * Integer.BYTES;
+            if (size < expected) {
+                throw new IOException("Maze file truncated: " + size + " of " + expected + " bytes");
+            }
+            if (start < 0 || start >= cells || end < 0 || end >= cells) {
+                throw new IOException("Corrupt maze file header: start " + start + ", end " + end);
+            }
+
+            int[] sources = new int[fields];
+            for (int f = 0; f < fields; f++) {
+                sources[f] = header.getInt(SOURCES_OFFSET + f * Integer.BYTES);
+            }
+
+            ByteBuffer body = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, bodySize(cells));
+            checkTerrain(body, width, height);
+            ByteBuffer[][] distances = new ByteBuffer[fields][];
+            long offset = distanceOffset(cells);
+            for (int f = 0; f < fields; f++) {
+                int chunks = (int) (((long) cells + (1 << CHUNK_SHIFT) - 1) >>> CHUNK_SHIFT);
+                distances[f] = new ByteBuffer[chunks];
+                for (int c = 0; c < chunks; c++) {
+                    long ints = Math.min(1L << CHUNK_SHIFT, cells - ((long) c << CHUNK_SHIFT));
+                    distances[f][c] = channel.map(FileChannel.MapMode.READ_ONLY, offset, ints * Integer.BYTES)
+                            .order(ByteOrder.LITTLE_ENDIAN);
+                    offset += ints * Integer.BYTES;
+                }
+            }
+
+            MappedMazeGrid grid = new MappedMazeGrid(width, height, body, sources, distances);
+            grid.setSeed(seed);
+            grid.setStart(start);
+            grid.setEnd(end);
+            return grid;
+        }
+    }
+
+    // Solvers index the cost table by cell type and rely on the border
+    // walls to stay inside the grid, so both are checked up front
+    private static void checkTerrain(ByteBuffer body, int width, int height) throws IOException {
+        byte[] chunk = new byte[WRITE_BUFFER_SIZE];
+        ByteBuffer view = body.duplicate();
+        int base = 0;
+        while (view.hasRemaining()) {
+            int length = Math.min(chunk.length, view.remaining());
+            view.get(chunk, 0, length);
+            for (int i = 0; i < length; i++) {
+                if ((chunk[i] & 0xF) > MazeGrid.FOOTPATH) {
+                    throw new IOException("Corrupt maze file: unknown terrain at cell " + 2L * (base + i));
+                }
+                if ((chunk[i] >>> 4 & 0xF) > MazeGrid.FOOTPATH) {
+                    throw new IOException("Corrupt maze file: unknown terrain at cell " + (2L * (base + i) + 1));
+                }
+            }
+            base += length;
+        }
+
+        long cells = (long) width * height;
+        for (int x = 0; x < width; x++) {
+            checkWall(body, x);
+            checkWall(body, cells - width + x);
+        }
+        for (long cell = width; cell < cells - width; cell += width) {
+            checkWall(body, cell);
+            checkWall(body, cell + width - 1);
+        }
+    }
+
+    private static void checkWall(ByteBuffer body, long cell) throws IOException {
+        int type = (body.get((int) (cell >>> 1)) >>> (((int) cell & 1) << 2)) & 0xF;
+        if (type != MazeGrid.WALL) {
+            throw new IOException("Corrupt maze file: border cell " + cell + " is not a wall");
+        }
+    }
+
+    // Heap copy of the file, for mazes that will be edited
+    public static MazeGrid load(Path file) throws IOException {
+        MappedMazeGrid mapped = map(file);
+        MazeGrid grid = new MazeGrid(mapped.getWidth(), mapped.getHeight());
+        byte[] row = new byte[grid.getWidth()];
+        for (int y = 0; y < grid.getHeight(); y++) {
+            int base = y * grid.getWidth();
+            for (int x = 0; x < row.length; x++) {
+                row[x] = (byte) mapped.getCell(base + x);
+            }
+            grid.setRow(y, row);
+        }
+        grid.setSeed(mapped.getSeed());
+        grid.setStart(mapped.getStart());
+        grid.setEnd(mapped.getEnd());
+        return grid;
+    }
+
+    private static int bodySize(int cells) {
+        return (int) (((long) cells + 1) >>> 1);
+    }
+
+    private static long distanceOffset(int cells) {
+        return (HEADER_SIZE + bodySize(cells) + 7L) & ~7L;
+    }
+}
@@ -0,0 +1,220 @@
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Maze model used by the engine: terrain type per cell plus the start/end
+ * cells. Has no Swing/AWT dependency so it can be used headless.
+ * Cells are stored row-major in a single byte array and addressed by index
+ * {@code y * width + x}; the step cost is looked up from the terrain type.
+ * Border cells are always walls, so the neighbours of an open cell are
+ * always inside the array. {@link MappedMazeGrid} keeps the cells in a
+ * memory-mapped file instead and overrides the per-cell accessors.
+ */
+public class MazeGrid {
+    // Cell types
+    public static final int WALL = 0;
+    public static final int GRASS = 1;
+    public static final int MUD = 2;
+    public static final int WATER = 3;
+    public static final int FOOTPATH = 4;
+
+    // Cost of stepping onto a cell, indexed by cell type
+    private static final int[] COST = {0, 1, 5, 10, 0};
+    public static final int MAX_COST = 10;
+
+    private static final AtomicLong NEXT_ID = new AtomicLong();
+
+    private final int width, height, cellCount;
+    // Null when a subclass stores the cells
+    private final byte[] cells;
+    // Index offsets of the up, down, left and right neighbours
+    private final int[] neighborOffsets;
+    // Unique per instance, for caches keyed by maze
+    private final long id = NEXT_ID.getAndIncrement();
+    // Bumped on every terrain change, so cached derived data can tell it is stale
+    private int modCount;
+    private int start, end;
+    // Seed the maze was generated from
+    private long seed;
+    // Cheapest cost of entering an open cell other than start and end, -1
+    // until computed. Generators force both to footpath, and a search never
+    // enters the start and enters the end exactly once, so counting them
+    // would zero the bound on every generated maze.
+    private int minStepCost = -1;
+
+    public MazeGrid(int width, int height) {
+        this(width, height, true);
+    }
+
+    MazeGrid(int width, int height, boolean allocateCells) {
+        if (width < 3 || height < 3) {
+            throw new IllegalArgumentException("Maze must be at least 3x3, got " + width + "x" + height);
+        }
+        if ((long) width * height > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Maze too large: " + width + "x" + height);
+        }
+        this.width = width;
+        this.height = height;
+        this.cellCount = width * height;
+        this.cells = allocateCells ? new byte[cellCount] : null;
+        this.neighborOffsets = new int[] {-width, width, -1, 1};
+    }
+
+    public static int costOf(int type) {
+        return COST[type];
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getCellCount() {
+        return cellCount;
+    }
+
+    public int index(int x, int y) {
+        return y * width + x;
+    }
+
+    public int x(int index) {
+        return index % width;
+    }
+
+    public int y(int index) {
+        return index / width;
+    }
+
+    public int[] neighborOffsets() {
+        return neighborOffsets;
+    }
+
+    public int getCell(int index) {
+        return cells[index];
+    }
+
+    public int getCell(int x, int y) {
+        return getCell(y * width + x);
+    }
+
+    public int getCost(int index) {
+        return COST[cells[index]];
+    }
+
+    public boolean isOpen(int index) {
+        return cells[index] != WALL;
+    }
+
+    public void setCell(int x, int y, int type) {
+        setCell(y * width + x, type);
+    }
+
+    public void setCell(int index, int type) {
+        cells[index] = (byte) type;
+        minStepCost = -1;
+        modCount++;
+    }
+
+    // Raw write for generators: invalidates nothing, so tasks may fill
+    // disjoint cells of one grid concurrently; call invalidate() once done
+    void putCell(int x, int y, int type) {
+        cells[y * width + x] = (byte) type;
+    }
+
+    // Marks the terrain changed after a run of putCell writes
+    void invalidate() {
+        minStepCost = -1;
+        modCount++;
+    }
+
+    public void setRow(int y, byte[] row) {
+        System.arraycopy(row, 0, cells, y * width, width);
+        minStepCost = -1;
+        modCount++;
+    }
+
+    // Copies the raw cell types, row-major, into dst
+    public void copyCells(byte[] dst) {
+        System.arraycopy(cells, 0, dst, 0, cellCount);
+    }
+
+    // Number of cells of each type, indexed by cell type
+    int[] typeCounts() {
+        int[] counts = new int[COST.length];
+        for (byte cell : cells) {
+            counts[cell]++;
+        }
+        return counts;
+    }
+
+    public int getMinStepCost() {
+        if (minStepCost < 0) {
+            int[] counts = typeCounts();
+            counts[getCell(start)]--;
+            if (end != start) {
+                counts[getCell(end)]--;
+            }
+            int min = MAX_COST;
+            for (int type = 0; type < COST.length; type++) {
+                if (type != WALL && counts[type] > 0) {
+                    min = Math.min(min, COST[type]);
+                }
+            }
+            minStepCost = min;
+        }
+        return minStepCost;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    int getModCount() {
+        return modCount;
+    }
+
+    public int getStart() {
+        return start;
+    }
+
+    public void setStart(int start) {
+        this.start = start;
+        minStepCost = -1;
+    }
+
+    public int getEnd() {
+        return end;
+    }
+
+    public void setEnd(int end) {
+        this.end = end;
+        minStepCost = -1;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    // Border cells are never part of the maze
+    public boolean isValid(int y, int x) {
+        return y > 0 && y < height - 1 && x > 0 && x < width - 1;
+    }
+
+    public boolean isOpen(int y, int x) {
+        return isValid(y, x) && isOpen(y * width + x);
+    }
+
+    public int pathCost(int[] path) {
+        int cost = 0;
+        for (int p : path) {
+            cost += getCost(p);
+        }
+        return cost;
+    }
+}
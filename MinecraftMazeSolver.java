@@ -1,45 +1,75 @@
 import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.awt.image.IndexColorModel;
 import java.util.*;
 import java.util.List;
 import javax.swing.*;
 import javax.sound.sampled.*;
 import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class MinecraftMazeSolver extends JFrame {
+    private static final long serialVersionUID = 1L;
     private static final int CELL_SIZE = 30;
-    private static final int MAZE_SIZE = 21;
+    private static final int DEFAULT_MAZE_SIZE = 21;
+    // Side of the maze viewport; larger mazes scroll and zoom inside it
+    private static final int MAX_VIEW_SIZE = DEFAULT_MAZE_SIZE * CELL_SIZE;
+    private static final int MAX_GUI_MAZE_SIZE = 8193;
+    // Default animation speed, the old one step per 50ms
+    private static final int DEFAULT_STEPS_PER_SECOND = 20;
+    // Longest an animation phase may take when the duration cap is on
+    private static final double MAX_PHASE_SECONDS = 10;
     
     private CardLayout cardLayout;
     private JPanel mainContainer;
 
     private MazePanel mazePanel;
-    private JComboBox<String> explorationSelector;
-    private JComboBox<String> solutionSelector;
-    private JButton generateButton, startButton, resetButton;
-    private JLabel statusLabel, explorationStepsLabel, solutionStepsLabel;
+    private JComboBox<GeneratorType> generatorSelector;
+    private JComboBox<ExplorationType> explorationSelector;
+    private JComboBox<SolverType> solutionSelector;
+    private JButton generateButton, openButton, saveButton, startButton, resetButton, skipButton;
+    private JSlider speedSlider;
+    private JCheckBox durationCapBox;
+    private JSpinner widthSpinner, heightSpinner;
+    private JTextField seedField;
+    private JLabel statusLabel, explorationStepsLabel, solutionStepsLabel, metricsLabel;
+    private JButton exportButton;
+    // One entry per finished generation or solve, for export
+    private final List<RunMetrics> metricsHistory = new ArrayList<>();
     
-    private int[][] maze;
-    private int[][] weights;
+    private final MazeEngine engine = new MazeEngine();
+    // Generation and solving run here, one task at a time, so the engine
+    // is never used by two threads at once
+    private final ExecutorService background = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "maze-worker");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private SwingWorker<?, ?> worker;
+    private StepAnimator animator;
+    private MazeGrid grid;
     private Point start, end;
     
-    private List<Point> solutionPath;
-    private List<Point> explorationPath;
-    private List<Point> exploredCells = new ArrayList<>();
+    // Cell indices, in order
+    private int[] solutionPath;
+    private int[] explorationPath;
     private boolean isAnimating = false;
     private boolean isExploring = false;
-    private String selectedExploration;
-    private String selectedSolution;
+    private ExplorationType selectedExploration;
+    private SolverType selectedSolution;
     
     private boolean mazeGenerated = false;
     private Clip backgroundMusic;
 
-    // Cell types
-    private static final int WALL = 0;
-    private static final int GRASS = 1;
-    private static final int MUD = 2;
-    private static final int WATER = 3;
-    private static final int FOOTPATH = 4;
-
     public MinecraftMazeSolver() {
         setTitle("Minecraft Maze Solver - Endermite & Enderman Adventure");
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
@@ -98,7 +128,7 @@ public class MinecraftMazeSolver extends JFrame {
         };
         
         panel.setLayout(new GridBagLayout());
-        panel.setPreferredSize(new Dimension(MAZE_SIZE * CELL_SIZE, MAZE_SIZE * CELL_SIZE + 200));
+        panel.setPreferredSize(new Dimension(MAX_VIEW_SIZE, MAX_VIEW_SIZE + 200));
         
         GridBagConstraints gbc = new GridBagConstraints();
         gbc.gridx = 0;
@@ -253,10 +283,68 @@ public class MinecraftMazeSolver extends JFrame {
         gbc.anchor = GridBagConstraints.CENTER;
         generateButton = createMinecraftButton("Generate New Maze");
         generateButton.setFont(new Font("Courier New", Font.BOLD, 16));
-        controlPanel.add(generateButton, gbc);
-        
-        // Row 2: Dropdown Eksplorasi
+        // Simpan / buka maze dalam format biner (.maze)
+        openButton = createMinecraftButton("Open Maze");
+        saveButton = createMinecraftButton("Save Maze");
+        saveButton.setEnabled(false);
+        JPanel generatePanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 0));
+        generatePanel.setOpaque(false);
+        generatePanel.add(generateButton);
+        generatePanel.add(openButton);
+        generatePanel.add(saveButton);
+        controlPanel.add(generatePanel, gbc);
+        
+        // Row 2: Ukuran maze
         gbc.gridy = 1;
+        JPanel sizePanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 5, 0));
+        sizePanel.setOpaque(false);
+        JLabel sizeLabel = new JLabel("Maze Size: ");
+        sizeLabel.setForeground(Color.WHITE);
+        sizeLabel.setFont(new Font("Courier New", Font.BOLD, 12));
+        widthSpinner = createSizeSpinner();
+        heightSpinner = createSizeSpinner();
+        JLabel byLabel = new JLabel("x");
+        byLabel.setForeground(Color.WHITE);
+        byLabel.setFont(new Font("Courier New", Font.BOLD, 12));
+        sizePanel.add(sizeLabel);
+        sizePanel.add(widthSpinner);
+        sizePanel.add(byLabel);
+        sizePanel.add(heightSpinner);
+        JLabel generatorLabel = new JLabel("  Generator: ");
+        generatorLabel.setForeground(Color.WHITE);
+        generatorLabel.setFont(new Font("Courier New", Font.BOLD, 12));
+        generatorSelector = new JComboBox<>(GeneratorType.values());
+        generatorSelector.setFont(new Font("Courier New", Font.BOLD, 12));
+        generatorSelector.setBackground(Color.BLACK);
+        generatorSelector.setForeground(Color.WHITE);
+        // Custom renderer untuk dropdown list
+        generatorSelector.setRenderer(new DefaultListCellRenderer() {
+            @Override
+            public Component getListCellRendererComponent(JList<?> list, Object value, 
+                    int index, boolean isSelected, boolean cellHasFocus) {
+                super.getListCellRendererComponent(list, value, index, isSelected, cellHasFocus);
+                setBackground(isSelected ? new Color(85, 85, 85) : Color.BLACK);
+                setForeground(Color.WHITE);
+                setFont(new Font("Courier New", Font.BOLD, 12));
+                setBorder(BorderFactory.createEmptyBorder(5, 10, 5, 10));
+                return this;
+            }
+        });
+        sizePanel.add(generatorLabel);
+        sizePanel.add(generatorSelector);
+        // Seed kosong = acak; seed yang dipakai ditampilkan di status
+        JLabel seedLabel = new JLabel("  Seed: ");
+        seedLabel.setForeground(Color.WHITE);
+        seedLabel.setFont(new Font("Courier New", Font.BOLD, 12));
+        seedField = new JTextField(12);
+        seedField.setFont(new Font("Courier New", Font.BOLD, 12));
+        seedField.setToolTipText("Leave empty for a random seed");
+        sizePanel.add(seedLabel);
+        sizePanel.add(seedField);
+        controlPanel.add(sizePanel, gbc);
+        
+        // Row 3: Dropdown Eksplorasi
+        gbc.gridy = 2;
         gbc.gridwidth = 1;
         gbc.anchor = GridBagConstraints.EAST;
         JLabel exploLabel = new JLabel("Exploration (Endermite): ");
@@ -267,8 +355,7 @@ public class MinecraftMazeSolver extends JFrame {
         gbc.gridx = 1;
         gbc.gridwidth = 3;
         gbc.anchor = GridBagConstraints.WEST;
-        String[] explorationAlgs = {"BFS (Breadth-First)", "DFS (Depth-First)"};
-        explorationSelector = new JComboBox<>(explorationAlgs);
+        explorationSelector = new JComboBox<>(ExplorationType.values());
         explorationSelector.setFont(new Font("Courier New", Font.BOLD, 12));
         explorationSelector.setBackground(Color.BLACK);
         explorationSelector.setForeground(Color.WHITE);
@@ -288,8 +375,8 @@ public class MinecraftMazeSolver extends JFrame {
         });
         controlPanel.add(explorationSelector, gbc);
         
-        // Row 3: Dropdown Solusi
-        gbc.gridy = 2;
+        // Row 4: Dropdown Solusi
+        gbc.gridy = 3;
         gbc.gridx = 0;
         gbc.gridwidth = 1;
         gbc.anchor = GridBagConstraints.EAST;
@@ -301,8 +388,7 @@ public class MinecraftMazeSolver extends JFrame {
         gbc.gridx = 1;
         gbc.gridwidth = 3;
         gbc.anchor = GridBagConstraints.WEST;
-        String[] solutionAlgs = {"Dijkstra (Cost Optimal)", "A* (Cost Optimal & Fast)"};
-        solutionSelector = new JComboBox<>(solutionAlgs);
+        solutionSelector = new JComboBox<>(SolverType.values());
         solutionSelector.setFont(new Font("Courier New", Font.BOLD, 12));
         solutionSelector.setBackground(Color.BLACK);
         solutionSelector.setForeground(Color.WHITE);
@@ -322,8 +408,8 @@ public class MinecraftMazeSolver extends JFrame {
         });
         controlPanel.add(solutionSelector, gbc);
         
-        // Row 4: Start & Reset Buttons
-        gbc.gridy = 3;
+        // Row 5: Start & Reset Buttons
+        gbc.gridy = 4;
         gbc.gridx = 0;
         gbc.gridwidth = 2;
         gbc.anchor = GridBagConstraints.CENTER;
@@ -337,6 +423,31 @@ public class MinecraftMazeSolver extends JFrame {
         resetButton = createMinecraftButton("Reset");
         controlPanel.add(resetButton, gbc);
         
+        // Row 6: Kecepatan animasi
+        gbc.gridy = 5;
+        gbc.gridx = 0;
+        gbc.gridwidth = 4;
+        JPanel speedPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 5, 0));
+        speedPanel.setOpaque(false);
+        JLabel speedLabel = new JLabel();
+        speedLabel.setForeground(Color.WHITE);
+        speedLabel.setFont(new Font("Courier New", Font.BOLD, 12));
+        speedSlider = new JSlider(0, 100, (int) Math.round(20 * Math.log10(DEFAULT_STEPS_PER_SECOND)));
+        speedSlider.setOpaque(false);
+        speedSlider.addChangeListener(e -> speedLabel.setText(
+            String.format("Speed: %,d steps/s", Math.round(Math.pow(10, speedSlider.getValue() / 20.0)))));
+        speedLabel.setText(String.format("Speed: %,d steps/s", DEFAULT_STEPS_PER_SECOND));
+        durationCapBox = new JCheckBox("Max " + (int) MAX_PHASE_SECONDS + "s per stage");
+        durationCapBox.setOpaque(false);
+        durationCapBox.setForeground(Color.WHITE);
+        durationCapBox.setFont(new Font("Courier New", Font.BOLD, 12));
+        skipButton = createMinecraftButton("Skip to End");
+        speedPanel.add(speedLabel);
+        speedPanel.add(speedSlider);
+        speedPanel.add(durationCapBox);
+        speedPanel.add(skipButton);
+        controlPanel.add(speedPanel, gbc);
+        
         // Status Panel
         JPanel statusPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
         statusPanel.setBackground(new Color(139, 90, 43));
@@ -357,24 +468,50 @@ public class MinecraftMazeSolver extends JFrame {
         statusPanel.add(explorationStepsLabel);
         statusPanel.add(solutionStepsLabel);
         
+        // Metrics Panel
+        JPanel metricsPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        metricsPanel.setBackground(new Color(139, 90, 43));
+        metricsLabel = new JLabel("");
+        metricsLabel.setFont(new Font("Courier New", Font.BOLD, 11));
+        metricsLabel.setForeground(new Color(255, 230, 180));
+        exportButton = createMinecraftButton("Export Metrics");
+        exportButton.setFont(new Font("Courier New", Font.BOLD, 11));
+        exportButton.setEnabled(false);
+        metricsPanel.add(exportButton);
+        metricsPanel.add(metricsLabel);
+        
+        JPanel statusArea = new JPanel(new GridLayout(2, 1));
+        statusArea.add(statusPanel);
+        statusArea.add(metricsPanel);
+        
         JPanel topPanel = new JPanel(new BorderLayout());
         topPanel.add(controlPanel, BorderLayout.CENTER);
-        topPanel.add(statusPanel, BorderLayout.SOUTH);
+        topPanel.add(statusArea, BorderLayout.SOUTH);
         
         // Info Panel (Legend)
         JPanel infoPanel = createInfoPanel();
         
-        // Maze Panel
+        // Maze Panel (scrollable, Ctrl + scroll untuk zoom)
         mazePanel = new MazePanel();
+        JScrollPane mazeScroll = new JScrollPane(mazePanel);
+        mazeScroll.setPreferredSize(new Dimension(MAX_VIEW_SIZE, MAX_VIEW_SIZE));
+        mazeScroll.getViewport().setBackground(Color.BLACK);
+        mazeScroll.setBorder(BorderFactory.createEmptyBorder());
+        mazeScroll.getVerticalScrollBar().setUnitIncrement(CELL_SIZE);
+        mazeScroll.getHorizontalScrollBar().setUnitIncrement(CELL_SIZE);
         
         gamePanel.add(topPanel, BorderLayout.NORTH);
-        gamePanel.add(mazePanel, BorderLayout.CENTER);
+        gamePanel.add(mazeScroll, BorderLayout.CENTER);
         gamePanel.add(infoPanel, BorderLayout.SOUTH);
         
         // Button Actions
         generateButton.addActionListener(e -> generateMaze());
+        openButton.addActionListener(e -> openMaze());
+        saveButton.addActionListener(e -> saveMaze());
         startButton.addActionListener(e -> solveMaze());
         resetButton.addActionListener(e -> reset());
+        skipButton.addActionListener(e -> skipToEnd());
+        exportButton.addActionListener(e -> exportMetrics());
         
         return gamePanel;
     }
@@ -412,6 +549,12 @@ public class MinecraftMazeSolver extends JFrame {
         return panel;
     }
     
+    private JSpinner createSizeSpinner() {
+        JSpinner spinner = new JSpinner(new SpinnerNumberModel(DEFAULT_MAZE_SIZE, 5, MAX_GUI_MAZE_SIZE, 1));
+        spinner.setFont(new Font("Courier New", Font.BOLD, 12));
+        return spinner;
+    }
+    
     private JButton createMinecraftButton(String text) {
         JButton button = new JButton(text);
         button.setFont(new Font("Courier New", Font.BOLD, 12));
@@ -426,142 +569,231 @@ public class MinecraftMazeSolver extends JFrame {
     }
     
     private void generateMaze() {
-        maze = new int[MAZE_SIZE][MAZE_SIZE];
-        weights = new int[MAZE_SIZE][MAZE_SIZE];
-        solutionPath = null;
-        exploredCells.clear();
-        explorationPath = null;
-        
-        for (int i = 0; i < MAZE_SIZE; i++) {
-            Arrays.fill(maze[i], WALL);
+        long seed;
+        String seedText = seedField.getText().trim();
+        if (seedText.isEmpty()) {
+            seed = MazeGenerator.randomSeed();
+        } else {
+            try {
+                seed = Long.parseLong(seedText);
+            } catch (NumberFormatException e) {
+                statusLabel.setText("Seed must be a whole number (or empty for random)");
+                return;
+            }
         }
 
-        start = new Point(1, 1);
-        maze[start.y][start.x] = FOOTPATH;
-        weights[start.y][start.x] = 0;
+        cancelWork();
+        int width = (Integer) widthSpinner.getValue();
+        int height = (Integer) heightSpinner.getValue();
+        GeneratorType generator = (GeneratorType) generatorSelector.getSelectedItem();
 
-        List<Wall> walls = new ArrayList<>();
-        addWallsToList(start.y, start.x, walls);
+        startButton.setEnabled(false);
+        statusLabel.setText("Generating " + width + "x" + height + " maze...");
+        explorationStepsLabel.setText("");
+        solutionStepsLabel.setText("");
 
-        Random rand = new Random();
+        SwingWorker<MazeGrid, Void> task = new SwingWorker<MazeGrid, Void>() {
+            private RunMetrics metrics;
 
-        while (!walls.isEmpty()) {
-            Wall wall = walls.remove(rand.nextInt(walls.size()));
-            int ny = wall.y;
-            int nx = wall.x;
+            @Override
+            protected MazeGrid doInBackground() {
+                MazeGrid generated = engine.generate(width, height, generator, seed);
+                metrics = engine.getMetrics();
+                return generated;
+            }
 
-            List<Point> pathNeighbors = new ArrayList<>();
-            List<Point> wallNeighbors = new ArrayList<>();
+            @Override
+            protected void done() {
+                if (isCancelled() || worker != this) {
+                    return;
+                }
+                try {
+                    showMaze(get());
+                    recordMetrics(metrics);
+                } catch (InterruptedException | ExecutionException e) {
+                    statusLabel.setText("Generation failed: " + rootMessage(e));
+                    startButton.setEnabled(mazeGenerated);
+                }
+            }
+        };
+        startWork(task);
+    }
 
-            int[][] dirs = {{-1,0},{1,0},{0,-1},{0,1}};
+    private void openMaze() {
+        JFileChooser chooser = new JFileChooser();
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        File file = chooser.getSelectedFile();
 
-            for (int[] dir : dirs) {
-                int cy = ny + dir[0];
-                int cx = nx + dir[1];
-                if (isValid(cy, cx)) {
-                    if (maze[cy][cx] != WALL) {
-                        pathNeighbors.add(new Point(cx, cy));
-                    } else {
-                        wallNeighbors.add(new Point(cx, cy));
-                    }
+        cancelWork();
+        startButton.setEnabled(false);
+        statusLabel.setText("Opening " + file.getName() + "...");
+        explorationStepsLabel.setText("");
+        solutionStepsLabel.setText("");
+
+        SwingWorker<MazeGrid, Void> task = new SwingWorker<MazeGrid, Void>() {
+            private RunMetrics metrics;
+
+            @Override
+            protected MazeGrid doInBackground() throws IOException {
+                MazeGrid opened = engine.open(file.toPath());
+                if (opened.getWidth() > MAX_GUI_MAZE_SIZE || opened.getHeight() > MAX_GUI_MAZE_SIZE) {
+                    throw new IOException("Maze is " + opened.getWidth() + "x" + opened.getHeight()
+                        + ", the viewer shows at most " + MAX_GUI_MAZE_SIZE + "x" + MAX_GUI_MAZE_SIZE);
                 }
+                metrics = engine.getMetrics();
+                return opened;
             }
 
-            if (pathNeighbors.size() == 1 && wallNeighbors.size() > 0) {
-                assignRandomTerrain(ny, nx, rand);
-
-                Point nextCell = wallNeighbors.get(rand.nextInt(wallNeighbors.size()));
-                if (maze[nextCell.y][nextCell.x] == WALL) {
-                    assignRandomTerrain(nextCell.y, nextCell.x, rand);
-                    addWallsToList(nextCell.y, nextCell.x, walls);
+            @Override
+            protected void done() {
+                if (isCancelled() || worker != this) {
+                    return;
+                }
+                try {
+                    showMaze(get());
+                    recordMetrics(metrics);
+                    statusLabel.setText("Opened " + file.getName() + " (" + grid.getWidth() + "x" + grid.getHeight()
+                        + ", seed " + grid.getSeed() + ")");
+                } catch (InterruptedException | ExecutionException e) {
+                    statusLabel.setText("Open failed: " + rootMessage(e));
+                    startButton.setEnabled(mazeGenerated);
                 }
             }
+        };
+        startWork(task);
+    }
+
+    private void saveMaze() {
+        if (!mazeGenerated) {
+            return;
+        }
+        JFileChooser chooser = new JFileChooser();
+        chooser.setSelectedFile(new File("maze-" + grid.getSeed() + MazeFile.EXTENSION));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
         }
+        File file = chooser.getSelectedFile();
+        MazeGrid saved = grid;
+        statusLabel.setText("Saving maze to " + file.getName() + "...");
+
+        // Runs behind any queued work on the engine's thread, but is not the
+        // current worker, so it neither cancels nor is cancelled by it
+        background.execute(new SwingWorker<Void, Void>() {
+            @Override
+            protected Void doInBackground() throws IOException {
+                engine.save(saved, file.toPath());
+                return null;
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    get();
+                    statusLabel.setText("Saved maze to " + file.getName());
+                } catch (InterruptedException | ExecutionException e) {
+                    statusLabel.setText("Save failed: " + rootMessage(e));
+                }
+            }
+        });
+    }
 
-        end = findFurthestPoint(start);
-        maze[end.y][end.x] = FOOTPATH;
-        weights[end.y][end.x] = 0;
+    private void showMaze(MazeGrid generated) {
+        solutionPath = null;
+        explorationPath = null;
 
-        maze[start.y][start.x] = FOOTPATH;
-        weights[start.y][start.x] = 0;
+        grid = generated;
+        start = toPoint(grid.getStart());
+        end = toPoint(grid.getEnd());
+        mazePanel.fitToMaze();
 
         mazeGenerated = true;
+        saveButton.setEnabled(true);
         explorationSelector.setEnabled(true);
         solutionSelector.setEnabled(true);
         startButton.setEnabled(true);
         
-        statusLabel.setText("Maze generated! Select algorithms and click 'Start Solving!'");
+        statusLabel.setText("Maze generated (seed " + grid.getSeed() + ")! Ctrl+scroll to zoom, click a cell for its cheapest path, or 'Start Solving!'");
         explorationStepsLabel.setText("");
         solutionStepsLabel.setText("");
         mazePanel.repaint();
     }
 
-    private void assignRandomTerrain(int y, int x, Random rand) {
-        int terrainType = rand.nextInt(100);
-
-        if (terrainType < 30) {
-            maze[y][x] = GRASS;
-            weights[y][x] = 1;
-        } else if (terrainType < 55) {
-            maze[y][x] = MUD;
-            weights[y][x] = 5;
-        } else if (terrainType < 70) {
-            maze[y][x] = WATER;
-            weights[y][x] = 10;
-        } else {
-            maze[y][x] = FOOTPATH;
-            weights[y][x] = 0;
-        }
+    private void startWork(SwingWorker<?, ?> task) {
+        worker = task;
+        background.execute(task);
     }
 
-    private Point findFurthestPoint(Point start) {
-        Queue<Point> queue = new LinkedList<>();
-        Map<Point, Integer> distances = new HashMap<>();
-        queue.add(start);
-        distances.put(start, 0);
-        
-        Point furthest = start;
-        int maxDist = 0;
-        
-        int[][] dirs = {{-1,0},{1,0},{0,-1},{0,1}};
-        
-        while (!queue.isEmpty()) {
-            Point current = queue.poll();
-            int dist = distances.get(current);
-            
-            if (dist > maxDist) {
-                maxDist = dist;
-                furthest = current;
-            }
-            
-            for (int[] dir : dirs) {
-                int ny = current.y + dir[0];
-                int nx = current.x + dir[1];
-                Point next = new Point(nx, ny);
-                
-                if (isValid(ny, nx) && maze[ny][nx] != WALL && !distances.containsKey(next)) {
-                    distances.put(next, dist + 1);
-                    queue.add(next);
-                }
-            }
+    // Stops the running task and animation; results of a cancelled task are
+    // dropped when it finishes
+    private void cancelWork() {
+        if (worker != null) {
+            worker.cancel(true);
+            worker = null;
         }
-        
-        return furthest;
+        if (animator != null) {
+            animator.stop();
+            animator = null;
+        }
+        isAnimating = false;
+        isExploring = false;
+    }
+
+    private void recordMetrics(RunMetrics metrics) {
+        metricsHistory.add(metrics);
+        exportButton.setEnabled(true);
+        metricsLabel.setText("Gen " + formatMillis(metrics.getGenerationNanos())
+            + " | Explore " + formatMillis(metrics.getExplorationNanos())
+            + " | Solve " + formatMillis(metrics.getSolveNanos())
+            + " | Expanded " + formatCount(metrics.getNodesExpanded())
+            + " | Pushes " + formatCount(metrics.getPushes())
+            + " | Peak queue " + formatCount(metrics.getPeakQueueSize())
+            + " | Reopened " + formatCount(metrics.getReopened())
+            + " | Alloc " + formatKilobytes(metrics.getGenerationBytes())
+            + " / " + formatKilobytes(metrics.getExplorationBytes())
+            + " / " + formatKilobytes(metrics.getSolveBytes()));
     }
 
-    private void addWallsToList(int y, int x, List<Wall> walls) {
-        int[][] dirs = {{-1,0},{1,0},{0,-1},{0,1}};
-        for (int[] dir : dirs) {
-            int ny = y + dir[0];
-            int nx = x + dir[1];
-            if (isValid(ny, nx) && maze[ny][nx] == WALL) {
-                walls.add(new Wall(ny, nx));
+    // Writes every recorded run; a .json file gets JSON, anything else CSV
+    private void exportMetrics() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setSelectedFile(new File("maze-metrics.csv"));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        File file = chooser.getSelectedFile();
+        try (Writer out = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            if (file.getName().toLowerCase().endsWith(".json")) {
+                RunMetrics.writeJson(metricsHistory, out);
+            } else {
+                RunMetrics.writeCsv(metricsHistory, out);
             }
+            statusLabel.setText("Exported " + metricsHistory.size() + " runs to " + file.getName());
+        } catch (IOException e) {
+            statusLabel.setText("Export failed: " + e.getMessage());
         }
     }
 
-    private boolean isValid(int y, int x) {
-        return y > 0 && y < MAZE_SIZE - 1 && x > 0 && x < MAZE_SIZE - 1;
+    private static String formatMillis(long nanos) {
+        return nanos < 0 ? "-" : String.format("%.3f ms", nanos / 1e6);
+    }
+
+    private static String formatCount(long count) {
+        return count < 0 ? "-" : String.format("%,d", count);
+    }
+
+    private static String formatKilobytes(long bytes) {
+        return bytes < 0 ? "-" : String.format("%,d KB", bytes / 1024);
+    }
+
+    private static String rootMessage(Exception e) {
+        Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+        return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+    }
+
+    private Point toPoint(int cell) {
+        return new Point(grid.x(cell), grid.y(cell));
     }
 
     private void solveMaze() {
@@ -569,154 +801,162 @@ public class MinecraftMazeSolver extends JFrame {
             statusLabel.setText("Generate maze first!");
             return;
         }
-        if (isAnimating) return;
+        if (isAnimating || (worker != null && !worker.isDone())) return;
 
-        selectedExploration = (String) explorationSelector.getSelectedItem();
-        selectedSolution = (String) solutionSelector.getSelectedItem();
+        selectedExploration = (ExplorationType) explorationSelector.getSelectedItem();
+        selectedSolution = (SolverType) solutionSelector.getSelectedItem();
         
         solutionPath = null;
-        exploredCells.clear();
-
-        isExploring = true;
+        explorationPath = null;
+        mazePanel.clearOverlay();
         
-        String exploType = selectedExploration.startsWith("DFS") ? "DFS" : "BFS";
-        statusLabel.setText("Stage 1: Endermite exploring with " + exploType + "...");
+        statusLabel.setText("Stage 1: Endermite exploring with " + selectedExploration.name() + "...");
         explorationStepsLabel.setText("");
         solutionStepsLabel.setText("");
-        
-        if (exploType.equals("DFS")) {
-            explorationPath = exploreDFS();
-        } else {
-            explorationPath = exploreBFS();
-        }
-        
-        if (explorationPath == null || explorationPath.isEmpty() || !explorationPath.contains(end)) {
-            statusLabel.setText("Exploration failed. No path to End!");
-            explorationStepsLabel.setText("");
-            isExploring = false;
-            mazePanel.repaint();
-            return;
-        }
 
-        animateExploration();
-    }
-    
-    private List<Point> exploreBFS() {
-        List<Point> visitedSequence = new ArrayList<>();
-        Queue<Point> queue = new LinkedList<>();
-        Set<Point> visited = new HashSet<>();
-    
-        queue.add(start);
-        visited.add(start);
-    
-        int[][] dirs = {{-1,0},{1,0},{0,-1},{0,1}};
-    
-        while (!queue.isEmpty()) {
-            Point current = queue.poll();
-            if (!visitedSequence.contains(current)) {
-                visitedSequence.add(current);
+        MazeGrid target = grid;
+        ExplorationType exploration = selectedExploration;
+        SolverType solution = selectedSolution;
+        SwingWorker<SolveOutcome, String> task = new SwingWorker<SolveOutcome, String>() {
+            @Override
+            protected SolveOutcome doInBackground() {
+                int[] explored = engine.explore(target, exploration);
+                if (isCancelled()) {
+                    return null;
+                }
+                publish("Stage 2: Enderman finding optimal path with " + solution.getShortName() + "...");
+                SolveResult result = engine.solve(target, solution);
+                return new SolveOutcome(explored, result, engine.getMetrics());
             }
-            
-            if (current.equals(end)) {
-                break;
+
+            @Override
+            protected void process(List<String> stages) {
+                if (worker == this) {
+                    statusLabel.setText(stages.get(stages.size() - 1));
+                }
             }
-    
-            for (int[] dir : dirs) {
-                int ny = current.y + dir[0];
-                int nx = current.x + dir[1];
-                Point next = new Point(nx, ny);
-    
-                if (isValid(ny, nx) && maze[ny][nx] != WALL && !visited.contains(next)) {
-                    visited.add(next);
-                    queue.add(next);
+
+            @Override
+            protected void done() {
+                if (isCancelled() || worker != this) {
+                    return;
+                }
+                try {
+                    SolveOutcome outcome = get();
+                    recordMetrics(outcome.metrics);
+                    playSolve(outcome);
+                } catch (InterruptedException | ExecutionException e) {
+                    statusLabel.setText("Solving failed: " + rootMessage(e));
                 }
             }
-        }
-        return visitedSequence;
+        };
+        startWork(task);
     }
-    
-    private List<Point> exploreDFS() {
-        List<Point> visitedSequence = new ArrayList<>();
-        Stack<Point> stack = new Stack<>();
-        Set<Point> visited = new HashSet<>();
-    
-        stack.push(start);
-        visited.add(start);
-    
-        int[][] dirs = {{-1,0},{1,0},{0,-1},{0,1}};
-    
-        while (!stack.isEmpty()) {
-            Point current = stack.pop();
-            if (!visitedSequence.contains(current)) {
-                 visitedSequence.add(current);
-            }
-            
-            if (current.equals(end)) {
-                break;
+
+    // Walks the cheapest path from Start to the clicked cell. Paths come from
+    // the engine's cached distance field, so only the first click per maze
+    // runs a search.
+    private void showPathTo(Point target) {
+        if (!mazeGenerated || isAnimating || (worker != null && !worker.isDone())) {
+            return;
+        }
+        if (target.x >= grid.getWidth() || target.y >= grid.getHeight()
+                || !grid.isOpen(grid.index(target.x, target.y))) {
+            return;
+        }
+        MazeGrid maze = grid;
+        int cell = grid.index(target.x, target.y);
+
+        SwingWorker<SolveResult, Void> task = new SwingWorker<SolveResult, Void>() {
+            @Override
+            protected SolveResult doInBackground() {
+                return engine.pathTo(maze, maze.getStart(), cell);
             }
-    
-            for (int i = dirs.length - 1; i >= 0; i--) {
-                int ny = current.y + dirs[i][0];
-                int nx = current.x + dirs[i][1];
-                Point next = new Point(nx, ny);
-    
-                if (isValid(ny, nx) && maze[ny][nx] != WALL && !visited.contains(next)) {
-                    visited.add(next);
-                    stack.push(next);
+
+            @Override
+            protected void done() {
+                if (isCancelled() || worker != this) {
+                    return;
+                }
+                try {
+                    SolveResult result = get();
+                    if (result == null) {
+                        statusLabel.setText("No path to (" + target.x + ", " + target.y + ")");
+                        return;
+                    }
+                    mazePanel.clearOverlay();
+                    explorationPath = null;
+                    isExploring = false;
+                    solutionPath = result.getPath();
+                    statusLabel.setText("Path to (" + target.x + ", " + target.y + ") from the "
+                        + (result.getNodesExpanded() == 0 ? "cached" : "new") + " distance field"
+                        + " (Time: " + formatMillis(result.getElapsedNanos()) + ")");
+                    explorationStepsLabel.setText("");
+                    solutionStepsLabel.setText(" | Path Cost: " + result.getCost() + " | Steps: " + solutionPath.length);
+                    animateSolution();
+                } catch (InterruptedException | ExecutionException e) {
+                    statusLabel.setText("Path query failed: " + rootMessage(e));
                 }
             }
+        };
+        startWork(task);
+    }
+
+    // Exploration order and solver result, computed off the EDT
+    private static class SolveOutcome {
+        final int[] explored;
+        final SolveResult result;
+        final RunMetrics metrics;
+
+        SolveOutcome(int[] explored, SolveResult result, RunMetrics metrics) {
+            this.explored = explored;
+            this.result = result;
+            this.metrics = metrics;
         }
-        return visitedSequence;
+    }
+
+    private void playSolve(SolveOutcome outcome) {
+        int[] explored = outcome.explored;
+        if (explored.length == 0 || explored[explored.length - 1] != grid.getEnd()) {
+            statusLabel.setText("Exploration failed. No path to End!");
+            explorationStepsLabel.setText("");
+            mazePanel.repaint();
+            return;
+        }
+
+        explorationPath = explored;
+        isExploring = true;
+        animateExploration(outcome.result);
     }
     
-    private void animateExploration() {
+    private void animateExploration(SolveResult result) {
         isAnimating = true;
-        mazePanel.currentStep = -1;
-        javax.swing.Timer timer = new javax.swing.Timer(50, null);
-        final int[] index = {0};
-
-        timer.addActionListener(e -> {
-            if (index[0] < explorationPath.size()) {
-                Point current = explorationPath.get(index[0]);
-                mazePanel.currentStep = index[0];
-                if (!current.equals(start) && !current.equals(end)) {
-                    exploredCells.add(current);
-                }
-                mazePanel.repaint();
-                index[0]++;
-            } else {
-                timer.stop();
-                isAnimating = false;
-                isExploring = false;
-                
-                explorationStepsLabel.setText(" | Exploration Steps: " + explorationPath.size());
-                statusLabel.setText("Exploration complete! Enderman finding optimal path...");
-                
-                startSolving();
-            }
+        mazePanel.setStep(-1);
+        int total = explorationPath.length;
+        animator = new StepAnimator(total, () -> stepsPerSecond(total), (from, to) -> {
+            mazePanel.markExplored(explorationPath, from, to);
+            mazePanel.setStep(to - 1);
+        }, () -> {
+            isAnimating = false;
+            isExploring = false;
+            
+            explorationStepsLabel.setText(" | Exploration Steps: " + explorationPath.length);
+            statusLabel.setText("Exploration complete! Enderman finding optimal path...");
+            
+            showSolution(result);
         });
-        timer.start();
+        animator.start();
     }
     
-    private void startSolving() {
-        exploredCells.clear();
-        mazePanel.repaint();
-
-        long startTime = System.currentTimeMillis();
-        
-        if (selectedSolution.startsWith("Dijkstra")) {
-            solutionPath = solveDijkstra();
-        } else if (selectedSolution.startsWith("A*")) {
-            solutionPath = solveAStar();
-        }
-
-        long endTime = System.currentTimeMillis();
-        
-        if (solutionPath != null) {
-            int totalCost = calculatePathCost(solutionPath);
-            String algoName = selectedSolution.split(" ")[0];
-            statusLabel.setText("Stage 2: Enderman solved with " + algoName + " (Time: " + (endTime - startTime) + "ms)");
-            solutionStepsLabel.setText(" | Path Cost: " + totalCost + " | Steps: " + solutionPath.size());
+    private void showSolution(SolveResult result) {
+        mazePanel.clearOverlay();
+        
+        if (result != null) {
+            solutionPath = result.getPath();
+            statusLabel.setText("Stage 2: Enderman solved with " + selectedSolution.getShortName()
+                + " (Time: " + formatMillis(result.getElapsedNanos()) + ")");
+            solutionStepsLabel.setText(" | Path Cost: " + result.getCost() + " | Steps: " + solutionPath.length
+                + " | Settled: " + result.getNodesExpanded());
 
             animateSolution();
         } else {
@@ -727,195 +967,295 @@ public class MinecraftMazeSolver extends JFrame {
     
     private void animateSolution() {
         isAnimating = true;
-        mazePanel.currentStep = -1;
-        javax.swing.Timer timer = new javax.swing.Timer(80, null);
-        final int[] index = {0};
-        
-        timer.addActionListener(e -> {
-            if (index[0] < solutionPath.size()) {
-                mazePanel.currentStep = index[0];
-                mazePanel.repaint();
-                index[0]++;
-            } else {
-                timer.stop();
+        mazePanel.setStep(-1);
+        int total = solutionPath.length;
+        animator = new StepAnimator(total, () -> stepsPerSecond(total),
+            (from, to) -> mazePanel.setStep(to - 1), () -> {
                 isAnimating = false;
                 statusLabel.setText("✓ Enderman reached the goal!");
-            }
-        });
-        
-        timer.start();
+            });
+        animator.start();
     }
 
-    private int calculatePathCost(List<Point> path) {
-        int cost = 0;
-        for (Point p : path) {
-            cost += weights[p.y][p.x];
+    // Slider is logarithmic: 0..100 maps to 1..100000 steps per second
+    private double stepsPerSecond(int totalSteps) {
+        double rate = Math.pow(10, speedSlider.getValue() / 20.0);
+        if (durationCapBox.isSelected()) {
+            rate = Math.max(rate, totalSteps / MAX_PHASE_SECONDS);
         }
-        return cost;
+        return rate;
     }
-    
-    private List<Point> solveDijkstra() {
-        PriorityQueue<Node> pq = new PriorityQueue<>();
-        Map<Point, Integer> dist = new HashMap<>();
-        Map<Point, Point> parent = new HashMap<>();
 
-        pq.add(new Node(start, 0));
-        dist.put(start, 0);
-        
-        int[][] dirs = {{-1,0},{1,0},{0,-1},{0,1}};
-        
-        while (!pq.isEmpty()) {
-            Node current = pq.poll();
-            
-            if (current.point.equals(end)) {
-                return reconstructPath(parent, end);
-            }
-            
-            if (dist.containsKey(current.point) && current.cost > dist.get(current.point)) {
-                continue;
-            }
-            
-            for (int[] dir : dirs) {
-                int ny = current.point.y + dir[0];
-                int nx = current.point.x + dir[1];
-                Point next = new Point(nx, ny);
-                
-                if (isValid(ny, nx) && maze[ny][nx] != WALL) {
-                    int newDist = dist.get(current.point) + weights[ny][nx];
-                    
-                    if (!dist.containsKey(next) || newDist < dist.get(next)) {
-                        dist.put(next, newDist);
-                        parent.put(next, current.point);
-                        pq.add(new Node(next, newDist));
-                    }
-                }
-            }
+    // Finishing a phase starts the next one, so keep going until all are done
+    private void skipToEnd() {
+        while (animator != null && animator.isRunning()) {
+            animator.finish();
         }
-        return null;
     }
 
-    private List<Point> solveAStar() {
-        PriorityQueue<AStarNode> pq = new PriorityQueue<>();
-        Map<Point, Integer> gScore = new HashMap<>();
-        Map<Point, Point> parent = new HashMap<>();
-        Set<Point> closed = new HashSet<>();
-        
-        pq.add(new AStarNode(start, 0, heuristic(start, end)));
-        gScore.put(start, 0);
-        
-        int[][] dirs = {{-1,0},{1,0},{0,-1},{0,1}};
+    private void reset() {
+        cancelWork();
+        solutionPath = null;
+        explorationPath = null;
+        startButton.setEnabled(mazeGenerated);
+        mazePanel.clearOverlay();
+        mazePanel.setStep(-1);
+        statusLabel.setText("Reset complete. Generate a new maze or start again!");
+        explorationStepsLabel.setText("");
+        solutionStepsLabel.setText("");
+    }
+
+    class MazePanel extends JPanel {
+        private static final long serialVersionUID = 1L;
+        // Pixels per cell, from a 16x zoom-out up to full CELL_SIZE
+        private final double[] zoomLevels = {0.0625, 0.125, 0.25, 0.5, 1, 2, 3, 4, 6, 8, 12, 16, 20, 25, CELL_SIZE};
+        // From this zoom on, grid lines, the vector path and the sprites are drawn
+        private static final double DETAIL_ZOOM = 8;
+        // Sprites overhang their cell by a few pixels
+        private static final int SPRITE_MARGIN = 8;
+        private static final int PATH_MARGIN = 2;
+        // Frames changing more cells than this repaint the whole view
+        private static final int BATCH_REPAINT_ALL = 256;
+        // Overlay pixel values. A path cell is PATH plus a LINK bit for each
+        // neighbour the path continues to, so the vector path can be drawn
+        // from the cells in view without walking the path
+        private static final byte EXPLORED = 1;
+        private static final byte PATH = 16;
+        private static final int LINK_UP = 1, LINK_DOWN = 2, LINK_LEFT = 4, LINK_RIGHT = 8;
+
+        // One palette entry per cell type, so terrain pixels are the raw cell bytes
+        private final IndexColorModel terrainColors = palette(
+            new Color(64, 64, 64),      // WALL
+            new Color(34, 139, 34),     // GRASS
+            new Color(139, 90, 43),     // MUD
+            new Color(30, 144, 255),    // WATER
+            new Color(210, 180, 140)    // FOOTPATH
+        );
+        private final IndexColorModel overlayColors = overlayPalette(
+            new Color(0, 0, 0, 0),
+            new Color(102, 0, 153, 70),
+            new Color(255, 0, 255, 120)
+        );
+        private final Color gridLineColor = new Color(0, 0, 0, 100);
+        private final Color pathColor = new Color(255, 0, 255, 120);
+        private final BasicStroke pathStroke = new BasicStroke(3);
+
+        int currentStep = -1;
+        private int zoom = zoomLevels.length - 1;
+        private double cellPx = CELL_SIZE;
+        // Sprites are drawn CELL_SIZE wide and scaled by this
+        private double scale = 1.0;
+        // One pixel per cell; the visible part is scaled up on paint
+        private BufferedImage terrain;
+        private BufferedImage overlay;
+        private byte[] overlayPixels;
+        private int revealedPath;
         
-        while (!pq.isEmpty()) {
-            AStarNode current = pq.poll();
-            
-            if (current.point.equals(end)) {
-                return reconstructPath(parent, end);
-            }
-            
-            if (closed.contains(current.point)) {
-                continue;
-            }
-            
-            closed.add(current.point);
-            
-            for (int[] dir : dirs) {
-                int ny = current.point.y + dir[0];
-                int nx = current.point.x + dir[1];
-                Point next = new Point(nx, ny);
-                
-                if (isValid(ny, nx) && maze[ny][nx] != WALL && !closed.contains(next)) {
-                    int tentativeG = gScore.get(current.point) + weights[ny][nx];
-                    
-                    if (!gScore.containsKey(next) || tentativeG < gScore.get(next)) {
-                        gScore.put(next, tentativeG);
-                        parent.put(next, current.point);
-                        
-                        int f = tentativeG + heuristic(next, end);
-                        pq.add(new AStarNode(next, tentativeG, f));
+        public MazePanel() {
+            setPreferredSize(new Dimension(MAX_VIEW_SIZE, MAX_VIEW_SIZE));
+            setBackground(Color.BLACK);
+
+            // Ctrl + roda mouse untuk zoom, drag untuk geser
+            addMouseWheelListener(e -> {
+                if (e.isControlDown() && grid != null) {
+                    setZoom(zoom - e.getWheelRotation(), e.getPoint());
+                } else {
+                    // Tanpa Ctrl, scroll biasa diteruskan ke JScrollPane
+                    Component scrollPane = SwingUtilities.getAncestorOfClass(JScrollPane.class, this);
+                    if (scrollPane != null) {
+                        scrollPane.dispatchEvent(SwingUtilities.convertMouseEvent(this, e, scrollPane));
                     }
                 }
-            }
-        }
-        return null;
-    }
+            });
+            MouseAdapter pan = new MouseAdapter() {
+                private Point origin;
 
-    private int heuristic(Point a, Point b) {
-        return Math.abs(a.x - b.x) + Math.abs(a.y - b.y);
-    }
+                @Override
+                public void mousePressed(MouseEvent e) {
+                    origin = e.getPoint();
+                }
+
+                @Override
+                public void mouseDragged(MouseEvent e) {
+                    if (origin != null) {
+                        Rectangle view = getVisibleRect();
+                        view.translate(origin.x - e.getX(), origin.y - e.getY());
+                        scrollRectToVisible(view);
+                    }
+                }
+
+                // Klik sel: jalur termurah dari Start ke sel itu
+                @Override
+                public void mouseClicked(MouseEvent e) {
+                    if (grid != null) {
+                        showPathTo(new Point((int) (e.getX() / cellPx), (int) (e.getY() / cellPx)));
+                    }
+                }
+            };
+            addMouseListener(pan);
+            addMouseMotionListener(pan);
+        }
 
-    private List<Point> reconstructPath(Map<Point, Point> parent, Point end) {
-        List<Point> path = new ArrayList<>();
-        Point current = end;
+        private IndexColorModel palette(Color... colors) {
+            byte[] r = new byte[colors.length], g = new byte[colors.length];
+            byte[] b = new byte[colors.length], a = new byte[colors.length];
+            for (int i = 0; i < colors.length; i++) {
+                r[i] = (byte) colors[i].getRed();
+                g[i] = (byte) colors[i].getGreen();
+                b[i] = (byte) colors[i].getBlue();
+                a[i] = (byte) colors[i].getAlpha();
+            }
+            return new IndexColorModel(8, colors.length, r, g, b, a);
+        }
         
-        while (current != null) {
-            path.add(0, current);
-            current = parent.get(current);
+        // Every PATH value, whatever its links, gets the path colour
+        private IndexColorModel overlayPalette(Color none, Color explored, Color path) {
+            Color[] colors = new Color[2 * PATH];
+            Arrays.fill(colors, none);
+            colors[EXPLORED] = explored;
+            Arrays.fill(colors, PATH, colors.length, path);
+            return palette(colors);
         }
         
-        return path;
-    }
+        void fitToMaze() {
+            int width = grid.getWidth();
+            int height = grid.getHeight();
+            terrain = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_INDEXED, terrainColors);
+            grid.copyCells(((DataBufferByte) terrain.getRaster().getDataBuffer()).getData());
+            overlay = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_INDEXED, overlayColors);
+            overlayPixels = ((DataBufferByte) overlay.getRaster().getDataBuffer()).getData();
+            revealedPath = 0;
+            currentStep = -1;
 
-    private void reset() {
-        solutionPath = null;
-        explorationPath = null;
-        exploredCells.clear();
-        isAnimating = false;
-        isExploring = false;
-        mazePanel.currentStep = -1;
-        mazePanel.repaint();
-        statusLabel.setText("Reset complete. Generate a new maze or start again!");
-        explorationStepsLabel.setText("");
-        solutionStepsLabel.setText("");
-    }
+            // Largest zoom that shows the whole maze
+            int side = Math.max(width, height);
+            int level = 0;
+            while (level + 1 < zoomLevels.length && side * zoomLevels[level + 1] <= MAX_VIEW_SIZE) {
+                level++;
+            }
+            setZoom(level, null);
+        }
+
+        // Keeps the cell under anchor (panel coordinates) in place, or the top-left corner if null
+        void setZoom(int level, Point anchor) {
+            level = Math.max(0, Math.min(zoomLevels.length - 1, level));
+            Rectangle view = getVisibleRect();
+            if (anchor == null) {
+                anchor = new Point(view.x, view.y);
+            }
+            double cellX = anchor.x / cellPx;
+            double cellY = anchor.y / cellPx;
+
+            zoom = level;
+            cellPx = zoomLevels[level];
+            scale = cellPx / CELL_SIZE;
+            Dimension size = new Dimension(
+                (int) Math.ceil(grid.getWidth() * cellPx),
+                (int) Math.ceil(grid.getHeight() * cellPx));
+            setPreferredSize(size);
+            setSize(size);
+            revalidate();
 
-    class Wall {
-        int y, x;
-        Wall(int y, int x) {
-            this.y = y;
-            this.x = x;
+            view.x = (int) Math.round(cellX * cellPx) - (anchor.x - view.x);
+            view.y = (int) Math.round(cellY * cellPx) - (anchor.y - view.y);
+            scrollRectToVisible(view);
+            repaint();
         }
-    }
 
-    class Node implements Comparable<Node> {
-        Point point;
-        int cost;
-        Node(Point point, int cost) {
-            this.point = point;
-            this.cost = cost;
+        void clearOverlay() {
+            if (overlayPixels != null) {
+                Arrays.fill(overlayPixels, (byte) 0);
+            }
+            revealedPath = 0;
+            repaint();
         }
-        public int compareTo(Node o) {
-            return Integer.compare(this.cost, o.cost);
+
+        // Marks cells [from, to) of the exploration order, except start and end
+        void markExplored(int[] cells, int from, int to) {
+            boolean repaintAll = to - from > BATCH_REPAINT_ALL;
+            for (int i = from; i < to; i++) {
+                int cell = cells[i];
+                if (cell != grid.getStart() && cell != grid.getEnd()) {
+                    overlayPixels[cell] = EXPLORED;
+                    if (!repaintAll) {
+                        repaintCell(cell, 0);
+                    }
+                }
+            }
+            if (repaintAll) {
+                repaint();
+            }
+        }
+
+        // Moves the character and, while solving, reveals the path behind it
+        void setStep(int step) {
+            repaintCell(characterCell(), SPRITE_MARGIN);
+            currentStep = step;
+            if (solutionPath != null && !isExploring) {
+                int revealUpTo = Math.min(step, solutionPath.length);
+                boolean repaintAll = revealUpTo - revealedPath > BATCH_REPAINT_ALL;
+                for (; revealedPath < revealUpTo; revealedPath++) {
+                    int cell = solutionPath[revealedPath];
+                    overlayPixels[cell] = PATH;
+                    if (revealedPath > 0) {
+                        int prev = solutionPath[revealedPath - 1];
+                        link(prev, cell);
+                        if (!repaintAll) {
+                            repaintCell(prev, PATH_MARGIN);
+                        }
+                    }
+                    if (!repaintAll) {
+                        repaintCell(cell, PATH_MARGIN);
+                    }
+                }
+                if (repaintAll) {
+                    repaint();
+                }
+            }
+            repaintCell(characterCell(), SPRITE_MARGIN);
         }
-    }
 
-    class AStarNode implements Comparable<AStarNode> {
-        Point point;
-        int g, f;
-        AStarNode(Point point, int g, int f) {
-            this.point = point;
-            this.g = g;
-            this.f = f;
+        // Records the path step between two neighbouring cells on both
+        private void link(int from, int to) {
+            int step = to - from;
+            int width = grid.getWidth();
+            int out = step == -width ? LINK_UP : step == width ? LINK_DOWN : step == -1 ? LINK_LEFT : LINK_RIGHT;
+            int in = step == -width ? LINK_DOWN : step == width ? LINK_UP : step == -1 ? LINK_RIGHT : LINK_LEFT;
+            overlayPixels[from] |= out;
+            overlayPixels[to] |= in;
         }
-        public int compareTo(AStarNode o) {
-            return Integer.compare(this.f, o.f);
+
+        // Repaints only the screen area of one cell plus a margin (in sprite pixels)
+        private void repaintCell(int cell, int margin) {
+            if (cell < 0) {
+                return;
+            }
+            int x = (int) Math.floor((grid.x(cell) * CELL_SIZE - margin) * scale);
+            int y = (int) Math.floor((grid.y(cell) * CELL_SIZE - margin) * scale);
+            int size = (int) Math.ceil((CELL_SIZE + 2 * margin) * scale) + 2;
+            repaint(x, y, size, size);
         }
-    }
 
-    class MazePanel extends JPanel {
-        int currentStep = -1;
-        
-        public MazePanel() {
-            setPreferredSize(new Dimension(MAZE_SIZE * CELL_SIZE, MAZE_SIZE * CELL_SIZE));
-            setBackground(Color.BLACK);
+        // Cell of the Endermite or Enderman, -1 before a maze exists
+        private int characterCell() {
+            if (grid == null) {
+                return -1;
+            }
+            if (isExploring && explorationPath != null && currentStep >= 0 && currentStep < explorationPath.length) {
+                return explorationPath[currentStep];
+            } else if (!isExploring && solutionPath != null && currentStep >= 0 && currentStep < solutionPath.length) {
+                return solutionPath[currentStep];
+            }
+            return grid.getStart();
         }
         
         @Override
         protected void paintComponent(Graphics g) {
             super.paintComponent(g);
             Graphics2D g2d = (Graphics2D) g;
-            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
             
-            if (maze == null) {
+            if (grid == null) {
+                g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
                 g2d.setColor(Color.WHITE);
                 g2d.setFont(new Font("Courier New", Font.BOLD, 20));
                 String msg = "Click 'Generate New Maze' to start!";
@@ -928,66 +1268,75 @@ public class MinecraftMazeSolver extends JFrame {
                 return;
             }
             
-            for (int i = 0; i < MAZE_SIZE; i++) {
-                for (int j = 0; j < MAZE_SIZE; j++) {
-                    int x = j * CELL_SIZE;
-                    int y = i * CELL_SIZE;
-                    
-                    Color cellColor;
-                    switch (maze[i][j]) {
-                        case WALL:
-                            cellColor = new Color(64, 64, 64);
-                            break;
-                        case GRASS:
-                            cellColor = new Color(34, 139, 34);
-                            break;
-                        case MUD:
-                            cellColor = new Color(139, 90, 43);
-                            break;
-                        case WATER:
-                            cellColor = new Color(30, 144, 255);
-                            break;
-                        case FOOTPATH:
-                            cellColor = new Color(210, 180, 140);
-                            break;
-                        default:
-                            cellColor = Color.WHITE;
-                    }
-                    
-                    g2d.setColor(cellColor);
-                    g2d.fillRect(x, y, CELL_SIZE, CELL_SIZE);
-                    
-                    g2d.setColor(new Color(0, 0, 0, 100));
-                    g2d.drawRect(x, y, CELL_SIZE, CELL_SIZE);
+            // Only the cells intersecting the clip are drawn
+            Rectangle clip = g2d.getClipBounds();
+            if (clip == null) {
+                clip = new Rectangle(0, 0, getWidth(), getHeight());
+            }
+            int col0 = Math.max(0, (int) (clip.x / cellPx));
+            int row0 = Math.max(0, (int) (clip.y / cellPx));
+            int col1 = Math.min(grid.getWidth(), (int) Math.ceil((clip.x + clip.width) / cellPx));
+            int row1 = Math.min(grid.getHeight(), (int) Math.ceil((clip.y + clip.height) / cellPx));
+            if (col0 >= col1 || row0 >= row1) {
+                return;
+            }
+            int x0 = (int) Math.round(col0 * cellPx);
+            int y0 = (int) Math.round(row0 * cellPx);
+            int x1 = (int) Math.round(col1 * cellPx);
+            int y1 = (int) Math.round(row1 * cellPx);
+            boolean detailed = cellPx >= DETAIL_ZOOM;
+
+            g2d.drawImage(terrain, x0, y0, x1, y1, col0, row0, col1, row1, null);
+            if (detailed) {
+                g2d.setColor(gridLineColor);
+                for (int col = col0; col <= col1; col++) {
+                    g2d.fillRect((int) Math.round(col * cellPx), y0, 1, y1 - y0);
+                }
+                for (int row = row0; row <= row1; row++) {
+                    g2d.fillRect(x0, (int) Math.round(row * cellPx), x1 - x0, 1);
                 }
             }
+            // Up close the path is drawn as lines instead of its overlay pixels
+            if (isExploring || !detailed) {
+                g2d.drawImage(overlay, x0, y0, x1, y1, col0, row0, col1, row1, null);
+            }
             
-            if (isExploring) {
-                g2d.setColor(new Color(102, 0, 153, 70));
-                for (Point p : exploredCells) {
-                    if (p != null && !p.equals(start) && !p.equals(end)) {
-                        g2d.fillRect(p.x * CELL_SIZE, p.y * CELL_SIZE, CELL_SIZE, CELL_SIZE);
-                    }
-                }
+            if (!detailed) {
+                // Zoomed out: markers and character as plain squares
+                int size = Math.max(3, (int) Math.ceil(cellPx));
+                drawMarker(g2d, grid.getStart(), new Color(0, 255, 0), size);
+                drawMarker(g2d, grid.getEnd(), new Color(255, 0, 0), size);
+                drawMarker(g2d, characterCell(), isExploring ? new Color(102, 0, 153) : Color.BLACK, size);
+                return;
             }
             
-            if (solutionPath != null && !isExploring && currentStep >= 0) {
-                g2d.setStroke(new BasicStroke(3));
-                g2d.setColor(new Color(255, 0, 255, 120));
+            g2d.scale(scale, scale);
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            
+            if (solutionPath != null && !isExploring) {
+                g2d.setStroke(pathStroke);
+                g2d.setColor(pathColor);
                 
-                for (int i = 0; i < Math.min(currentStep, solutionPath.size()); i++) {
-                    Point p = solutionPath.get(i);
-                    int x = p.x * CELL_SIZE + CELL_SIZE / 2;
-                    int y = p.y * CELL_SIZE + CELL_SIZE / 2;
-                    
-                    if (i > 0) {
-                        Point prev = solutionPath.get(i - 1);
-                        int px = prev.x * CELL_SIZE + CELL_SIZE / 2;
-                        int py = prev.y * CELL_SIZE + CELL_SIZE / 2;
-                        g2d.drawLine(px, py, x, y);
+                // Revealed path cells in and just past the clip; each segment is
+                // drawn once, from its lower or right end
+                int lastCol = Math.min(col1, grid.getWidth() - 1);
+                int lastRow = Math.min(row1, grid.getHeight() - 1);
+                for (int row = row0; row <= lastRow; row++) {
+                    for (int col = col0; col <= lastCol; col++) {
+                        int pixel = overlayPixels[grid.index(col, row)];
+                        if (pixel < PATH) {
+                            continue;
+                        }
+                        int x = col * CELL_SIZE + CELL_SIZE / 2;
+                        int y = row * CELL_SIZE + CELL_SIZE / 2;
+                        if ((pixel & LINK_UP) != 0) {
+                            g2d.drawLine(x, y - CELL_SIZE, x, y);
+                        }
+                        if ((pixel & LINK_LEFT) != 0) {
+                            g2d.drawLine(x - CELL_SIZE, y, x, y);
+                        }
+                        g2d.fillOval(x - 3, y - 3, 6, 6);
                     }
-                    
-                    g2d.fillOval(x - 3, y - 3, 6, 6);
                 }
             }
             
@@ -1023,25 +1372,26 @@ public class MinecraftMazeSolver extends JFrame {
                 g2d.drawString("E", ex + CELL_SIZE/2 - 4, ey + CELL_SIZE/2 + 4);
             }
             
-            Point characterPos = null;
-            
-            if (isExploring && explorationPath != null && currentStep >= 0 && currentStep < explorationPath.size()) {
-                characterPos = explorationPath.get(currentStep);
-            } else if (!isExploring && solutionPath != null && currentStep >= 0 && currentStep < solutionPath.size()) {
-                characterPos = solutionPath.get(currentStep);
-            } else if (start != null) {
-                characterPos = start;
-            }
+            int character = characterCell();
             
-            if (characterPos != null) {
+            if (character >= 0) {
                 if (isExploring) {
-                    drawEndermite(g2d, characterPos.x * CELL_SIZE, characterPos.y * CELL_SIZE);
+                    drawEndermite(g2d, grid.x(character) * CELL_SIZE, grid.y(character) * CELL_SIZE);
                 } else {
-                    drawEnderman(g2d, characterPos.x * CELL_SIZE, characterPos.y * CELL_SIZE);
+                    drawEnderman(g2d, grid.x(character) * CELL_SIZE, grid.y(character) * CELL_SIZE);
                 }
             }
         }
         
+        private void drawMarker(Graphics2D g, int cell, Color color, int size) {
+            if (cell >= 0) {
+                int offset = (size - (int) Math.ceil(cellPx)) / 2;
+                g.setColor(color);
+                g.fillRect((int) Math.round(grid.x(cell) * cellPx) - offset,
+                    (int) Math.round(grid.y(cell) * cellPx) - offset, size, size);
+            }
+        }
+        
         private void drawEnderman(Graphics2D g, int x, int y) {
             g.setColor(Color.BLACK);
             g.fillRect(x + 13, y + 3, 14, 10);
@@ -0,0 +1,45 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Streams an Eller maze to a tiled file (unless the file already exists)
+ * and solves it with {@link OutOfCoreSolver}, printing tile cache and
+ * queue spill statistics. The cache gets half of the free heap.
+ * Usage: java OutOfCoreBenchmark [size] [file] [tileSize] [queueBudget]
+ */
+public class OutOfCoreBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 20001;
+        Path file = Paths.get(args.length > 1 ? args[1] : "maze-" + size + TiledMazeFile.EXTENSION);
+        int tileSize = args.length > 2 ? Integer.parseInt(args[2]) : TiledMazeFile.DEFAULT_TILE_SIZE;
+        int queueBudget = args.length > 3 ? Integer.parseInt(args[3]) : 1 << 20;
+
+        if (!Files.exists(file)) {
+            long t0 = System.nanoTime();
+            TiledMazeFile.create(file, size, size, tileSize, size);
+            System.out.printf("Wrote %s (%,d MB) in %.1f s%n", file, Files.size(file) >> 20, (System.nanoTime() - t0) / 1e9);
+        }
+
+        Runtime runtime = Runtime.getRuntime();
+        long freeHeap = runtime.maxMemory() - (runtime.totalMemory() - runtime.freeMemory());
+        long tileBytes = (long) tileSize * tileSize * (1 + Long.BYTES + 1);
+        int cachedTiles = (int) Math.max(4, Math.min(Integer.MAX_VALUE, freeHeap / 2 / tileBytes));
+
+        try (OutOfCoreSolver solver = new OutOfCoreSolver(file, cachedTiles, queueBudget)) {
+            TiledMazeFile maze = solver.getMaze();
+            System.out.printf("%dx%d maze (%,d cells), %d of %d tiles cached, heap %,d MB%n",
+                    maze.getWidth(), maze.getHeight(), maze.getCellCount(), Math.min(cachedTiles, maze.getTileCount()),
+                    maze.getTileCount(), runtime.maxMemory() >> 20);
+            long cost = solver.solve();
+            System.out.printf("Cost %d, path %,d cells, %,d expanded in %.1f s%n",
+                    cost, solver.getPathLength(), solver.getNodesExpanded(), solver.getElapsedNanos() / 1e9);
+            System.out.printf("Tiles: %,d hits, %,d misses (%.4f hit rate), %,d written back%n",
+                    solver.getTileHits(), solver.getTileMisses(), solver.getTileHitRate(), solver.getTileWrites());
+            System.out.printf("Queue: peak %,d entries, %,d spilled to disk%n",
+                    solver.getPeakQueueSize(), solver.getSpilledEntries());
+        }
+    }
+}
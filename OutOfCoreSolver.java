@@ -0,0 +1,453 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongConsumer;
+
+/**
+ * Dial's algorithm over a {@link TiledMazeFile}, for mazes whose search
+ * state does not fit in the heap. Terrain, distances and parent directions
+ * are held per tile in a bounded LRU cache; evicted tiles that were
+ * touched are written to a state file next to the maze and read back when
+ * needed again. Each bucket keeps at most its share of the queue budget in
+ * memory and appends the overflow to a spill file of its own. Cells are
+ * addressed by long index y * width + x.
+ * <p>
+ * Terrain is memory-mapped by the maze file. The state and spill files use
+ * positional reads and writes through one reused direct buffer each: they
+ * are written, grown and truncated while the search runs, and a mapping
+ * per tile or block could not be released until garbage collected.
+ * <p>
+ * Heap use is about cachedTiles * tileSize^2 * 10 bytes plus queueBudget *
+ * 8 bytes, independent of the maze size. Not thread-safe.
+ */
+public class OutOfCoreSolver implements AutoCloseable {
+    // Direction from a cell's parent to the cell
+    private static final int[] DX = {0, 0, -1, 1};
+    private static final int[] DY = {-1, 1, 0, 0};
+    private static final byte NO_PARENT = -1;
+    private static final int BUCKETS = MazeGrid.MAX_COST + 1;
+    // A neighbour step touches at most three tiles
+    private static final int MIN_CACHED_TILES = 4;
+
+    private final TiledMazeFile maze;
+    private final int width, tileSize, tileCells;
+    private final int cachedTiles;
+    private final Path statePath;
+    private final FileChannel state;
+    // Reused for moving one tile's state to and from the state file
+    private final ByteBuffer stateBuffer;
+    // One bit per tile: its state is in the state file
+    private final long[] stored;
+    // Tile id to tile, least recently used first
+    private final LinkedHashMap<Integer, Tile> cache;
+    private final SpillBucket[] buckets = new SpillBucket[BUCKETS];
+    private Tile lastTile;
+
+    private long cost = -1, pathLength;
+    private long nodesExpanded, pushes, peakQueueSize;
+    private long tileHits, tileMisses, tileWrites;
+    private long elapsedNanos;
+
+    public OutOfCoreSolver(Path mazeFile, int cachedTiles, int queueBudget) throws IOException {
+        if (cachedTiles < MIN_CACHED_TILES) {
+            throw new IllegalArgumentException("Need at least " + MIN_CACHED_TILES + " cached tiles, got " + cachedTiles);
+        }
+        if (queueBudget < BUCKETS) {
+            throw new IllegalArgumentException("Queue budget must be at least " + BUCKETS + ", got " + queueBudget);
+        }
+        this.maze = TiledMazeFile.open(mazeFile);
+        this.width = maze.getWidth();
+        this.tileSize = maze.getTileSize();
+        this.tileCells = tileSize * tileSize;
+        this.cachedTiles = cachedTiles;
+        this.cache = new LinkedHashMap<>(cachedTiles * 2, 0.75f, true);
+
+        Path dir = mazeFile.toAbsolutePath().getParent();
+        Path tempPath = null;
+        FileChannel tempChannel = null;
+        try {
+            this.stored = new long[(maze.getTileCount() + 63) >>> 6];
+            if ((long) tileCells * (Long.BYTES + 1) > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Tile size " + tileSize + " too large for the state buffer");
+            }
+            this.stateBuffer = ByteBuffer.allocateDirect(tileCells * (Long.BYTES + 1));
+            tempPath = Files.createTempFile(dir, "maze-state", ".tmp");
+            tempChannel = FileChannel.open(tempPath, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                    StandardOpenOption.SPARSE);
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets[i] = new SpillBucket(dir, queueBudget / BUCKETS);
+            }
+        } catch (IOException | RuntimeException e) {
+            // Buckets open their spill files lazily, so only these are open
+            if (tempChannel != null) {
+                tempChannel.close();
+            }
+            if (tempPath != null) {
+                Files.deleteIfExists(tempPath);
+            }
+            maze.close();
+            throw e;
+        }
+        this.statePath = tempPath;
+        this.state = tempChannel;
+    }
+
+    // Returns the cost from start to end, or -1 if the end is unreachable
+    public long solve() throws IOException {
+        long startTime = System.nanoTime();
+        reset();
+        long start = maze.getStart();
+        long end = maze.getEnd();
+
+        Tile tile = tileOf(start);
+        tile.dist[localOf(start)] = 0;
+        tile.dirty = true;
+        buckets[0].add(start);
+        long queued = 1;
+        pushes = peakQueueSize = 1;
+
+        for (long d = 0; queued > 0; d++) {
+            SpillBucket bucket = buckets[(int) (d % BUCKETS)];
+
+            while (!bucket.isEmpty()) {
+                long current = bucket.poll();
+                queued--;
+
+                if (tileOf(current).dist[localOf(current)] != d) {
+                    continue;
+                }
+                if (current == end) {
+                    cost = d;
+                    pathLength = tracePath(null);
+                    elapsedNanos = System.nanoTime() - startTime;
+                    return cost;
+                }
+                nodesExpanded++;
+
+                int x = (int) (current % width);
+                int y = (int) (current / width);
+                for (int dir = 0; dir < DX.length; dir++) {
+                    int nx = x + DX[dir];
+                    int ny = y + DY[dir];
+                    long next = (long) ny * width + nx;
+                    Tile nextTile = tileOf(next);
+                    int local = localOf(next);
+                    int type = nextTile.terrain[local];
+
+                    if (type != MazeGrid.WALL) {
+                        long newDist = d + MazeGrid.costOf(type);
+
+                        if (newDist < nextTile.dist[local]) {
+                            nextTile.dist[local] = newDist;
+                            nextTile.parent[local] = (byte) dir;
+                            nextTile.dirty = true;
+                            buckets[(int) (newDist % BUCKETS)].add(next);
+                            pushes++;
+                            if (++queued > peakQueueSize) {
+                                peakQueueSize = queued;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        elapsedNanos = System.nanoTime() - startTime;
+        return -1;
+    }
+
+    // Hands the path of the last solve to sink from end back to start and
+    // returns its length in cells; sink may be null to only count
+    public long tracePath(LongConsumer sink) throws IOException {
+        if (cost < 0) {
+            return 0;
+        }
+        long length = 0;
+        long cell = maze.getEnd();
+        while (true) {
+            if (sink != null) {
+                sink.accept(cell);
+            }
+            length++;
+            int dir = tileOf(cell).parent[localOf(cell)];
+            if (dir == NO_PARENT) {
+                return length;
+            }
+            cell -= (long) DY[dir] * width + DX[dir];
+        }
+    }
+
+    private void reset() throws IOException {
+        cache.clear();
+        lastTile = null;
+        Arrays.fill(stored, 0L);
+        state.truncate(0);
+        for (SpillBucket bucket : buckets) {
+            bucket.clear();
+        }
+        cost = -1;
+        pathLength = nodesExpanded = pushes = peakQueueSize = 0;
+        tileHits = tileMisses = tileWrites = 0;
+    }
+
+    private int localOf(long cell) {
+        int x = (int) (cell % width);
+        int y = (int) (cell / width);
+        return (y % tileSize) * tileSize + x % tileSize;
+    }
+
+    private Tile tileOf(long cell) throws IOException {
+        int tx = (int) (cell % width) / tileSize;
+        int ty = (int) (cell / width) / tileSize;
+        int id = ty * maze.getTilesX() + tx;
+        if (lastTile != null && lastTile.id == id) {
+            tileHits++;
+            return lastTile;
+        }
+
+        Tile tile = cache.get(id);
+        if (tile != null) {
+            tileHits++;
+        } else {
+            tileMisses++;
+            tile = load(id, tx, ty);
+            cache.put(id, tile);
+        }
+        lastTile = tile;
+        return tile;
+    }
+
+    // Reads a tile in, evicting the least recently used one when full
+    private Tile load(int id, int tx, int ty) throws IOException {
+        Tile tile;
+        if (cache.size() < cachedTiles) {
+            tile = new Tile(tileCells);
+        } else {
+            Iterator<Map.Entry<Integer, Tile>> eldest = cache.entrySet().iterator();
+            tile = eldest.next().getValue();
+            eldest.remove();
+            if (tile.dirty) {
+                writeState(tile);
+            }
+        }
+        tile.id = id;
+        tile.dirty = false;
+        maze.readTile(tx, ty, tile.terrain);
+        if ((stored[id >>> 6] & (1L << id)) != 0) {
+            readState(tile);
+        } else {
+            Arrays.fill(tile.dist, Long.MAX_VALUE);
+            Arrays.fill(tile.parent, NO_PARENT);
+        }
+        return tile;
+    }
+
+    private void writeState(Tile tile) throws IOException {
+        stateBuffer.clear();
+        stateBuffer.asLongBuffer().put(tile.dist);
+        stateBuffer.position(tileCells * Long.BYTES);
+        stateBuffer.put(tile.parent);
+        stateBuffer.flip();
+        long position = (long) tile.id * stateBuffer.capacity();
+        while (stateBuffer.hasRemaining()) {
+            position += state.write(stateBuffer, position);
+        }
+        stored[tile.id >>> 6] |= 1L << tile.id;
+        tileWrites++;
+    }
+
+    private void readState(Tile tile) throws IOException {
+        stateBuffer.clear();
+        long position = (long) tile.id * stateBuffer.capacity();
+        while (stateBuffer.hasRemaining()) {
+            if (state.read(stateBuffer, position + stateBuffer.position()) < 0) {
+                throw new IOException("Search state file truncated");
+            }
+        }
+        stateBuffer.flip();
+        stateBuffer.asLongBuffer().get(tile.dist);
+        stateBuffer.position(tileCells * Long.BYTES);
+        stateBuffer.get(tile.parent);
+    }
+
+    public long getCost() {
+        return cost;
+    }
+
+    public long getPathLength() {
+        return pathLength;
+    }
+
+    public long getNodesExpanded() {
+        return nodesExpanded;
+    }
+
+    public long getPushes() {
+        return pushes;
+    }
+
+    public long getPeakQueueSize() {
+        return peakQueueSize;
+    }
+
+    public long getTileHits() {
+        return tileHits;
+    }
+
+    public long getTileMisses() {
+        return tileMisses;
+    }
+
+    public double getTileHitRate() {
+        long lookups = tileHits + tileMisses;
+        return lookups == 0 ? 0 : (double) tileHits / lookups;
+    }
+
+    // Evicted tiles whose state had to be written out
+    public long getTileWrites() {
+        return tileWrites;
+    }
+
+    // Queue entries that went through a spill file
+    public long getSpilledEntries() {
+        long spilled = 0;
+        for (SpillBucket bucket : buckets) {
+            spilled += bucket.spilled;
+        }
+        return spilled;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public TiledMazeFile getMaze() {
+        return maze;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            for (SpillBucket bucket : buckets) {
+                if (bucket != null) {
+                    bucket.close();
+                }
+            }
+            state.close();
+            maze.close();
+        } finally {
+            Files.deleteIfExists(statePath);
+        }
+    }
+
+    /** Search state of one cached tile; arrays are reused after eviction. */
+    private static final class Tile {
+        int id;
+        final byte[] terrain;
+        final long[] dist;
+        final byte[] parent;
+        boolean dirty;
+
+        Tile(int cells) {
+            terrain = new byte[cells];
+            dist = new long[cells];
+            parent = new byte[cells];
+        }
+    }
+
+    /**
+     * One Dial bucket: an in-memory stack of cells that, when full, is
+     * appended to a spill file and refilled from it once drained. All
+     * entries of a bucket share one distance, so their order is irrelevant.
+     */
+    private static final class SpillBucket implements AutoCloseable {
+        private final Path dir;
+        private final long[] items;
+        private int size;
+        private Path spillPath;
+        private FileChannel spill;
+        private ByteBuffer spillBuffer;
+        // Spilled entries occupy the file up to writePosition
+        private long writePosition;
+        long spilled;
+
+        SpillBucket(Path dir, int capacity) {
+            this.dir = dir;
+            this.items = new long[capacity];
+        }
+
+        boolean isEmpty() {
+            return size == 0 && writePosition == 0;
+        }
+
+        void add(long cell) throws IOException {
+            if (size == items.length) {
+                spillAll();
+            }
+            items[size++] = cell;
+        }
+
+        long poll() throws IOException {
+            if (size == 0) {
+                refill();
+            }
+            return items[--size];
+        }
+
+        void clear() throws IOException {
+            size = 0;
+            writePosition = 0;
+            spilled = 0;
+            if (spill != null) {
+                spill.truncate(0);
+            }
+        }
+
+        private void spillAll() throws IOException {
+            if (spill == null) {
+                spillPath = Files.createTempFile(dir, "maze-queue", ".tmp");
+                spill = FileChannel.open(spillPath, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                spillBuffer = ByteBuffer.allocateDirect(items.length * Long.BYTES);
+            }
+            spillBuffer.clear();
+            spillBuffer.asLongBuffer().put(items, 0, size);
+            spillBuffer.limit(size * Long.BYTES);
+            while (spillBuffer.hasRemaining()) {
+                writePosition += spill.write(spillBuffer, writePosition);
+            }
+            spilled += size;
+            size = 0;
+        }
+
+        // Reads back the most recently spilled block
+        private void refill() throws IOException {
+            int count = (int) Math.min(items.length, writePosition / Long.BYTES);
+            long position = writePosition - (long) count * Long.BYTES;
+            spillBuffer.clear();
+            spillBuffer.limit(count * Long.BYTES);
+            while (spillBuffer.hasRemaining()) {
+                if (spill.read(spillBuffer, position + spillBuffer.position()) < 0) {
+                    throw new IOException("Queue spill file truncated");
+                }
+            }
+            spillBuffer.flip();
+            spillBuffer.asLongBuffer().get(items, 0, count);
+            size = count;
+            writePosition = position;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (spill != null) {
+                spill.close();
+                Files.deleteIfExists(spillPath);
+            }
+        }
+    }
+}
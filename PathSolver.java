@@ -0,0 +1,21 @@
+/**
+ * Finds the cheapest path from the grid's start to its end. Returns
+ * {@code null} when the end is unreachable.
+ */
+public interface PathSolver {
+    SolveResult solve(MazeGrid grid);
+
+    // Walks parent links back from end; the start cell has parent -1
+    static int[] reconstructPath(int[] parent, int end) {
+        int length = 0;
+        for (int cell = end; cell != -1; cell = parent[cell]) {
+            length++;
+        }
+
+        int[] path = new int[length];
+        for (int cell = end; cell != -1; cell = parent[cell]) {
+            path[--length] = cell;
+        }
+        return path;
+    }
+}
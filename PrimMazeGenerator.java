@@ -0,0 +1,103 @@
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Randomized Prim maze generator, carving cell by cell from (1, 1).
+ * The frontier is a primitive array with swap-with-last removal and a
+ * bitmap that keeps each wall in it at most once. Buffers are reused
+ * between calls, so an instance must not be shared between threads.
+ */
+public class PrimMazeGenerator implements MazeGenerator {
+    private int[] frontier = new int[64];
+    private int frontierSize;
+    // Frontier membership while carving, visited cells during the BFS
+    private long[] marks = new long[0];
+    private final int[] wallNeighbors = new int[4];
+
+    @Override
+    public MazeGrid generate(int width, int height, long seed) {
+        MazeGrid grid = new MazeGrid(width, height);
+        grid.setSeed(seed);
+        int[] offsets = grid.neighborOffsets();
+        resetMarks(grid.getCellCount());
+        frontierSize = 0;
+
+        int start = grid.index(1, 1);
+        grid.setCell(start, MazeGrid.FOOTPATH);
+        grid.setStart(start);
+        addWallsToFrontier(grid, start);
+
+        SplittableRandom rand = new SplittableRandom(seed);
+
+        while (frontierSize > 0) {
+            int slot = rand.nextInt(frontierSize);
+            int wall = frontier[slot];
+            frontier[slot] = frontier[--frontierSize];
+            marks[wall >>> 6] &= ~(1L << wall);
+
+            int wy = wall / width;
+            int wx = wall - wy * width;
+            int pathCount = 0;
+            int wallCount = 0;
+
+            for (int i = 0; i < offsets.length; i++) {
+                if (isInterior(wx, wy, i, width, height)) {
+                    int next = wall + offsets[i];
+                    if (grid.isOpen(next)) {
+                        pathCount++;
+                    } else {
+                        wallNeighbors[wallCount++] = next;
+                    }
+                }
+            }
+
+            if (pathCount == 1 && wallCount > 0) {
+                grid.setCell(wall, MazeGenerator.randomTerrain(rand));
+
+                int nextCell = wallNeighbors[rand.nextInt(wallCount)];
+                grid.setCell(nextCell, MazeGenerator.randomTerrain(rand));
+                addWallsToFrontier(grid, nextCell);
+            }
+        }
+
+        resetMarks(grid.getCellCount());
+        MazeGenerator.placeStartAndEnd(grid, marks);
+        return grid;
+    }
+
+    private void addWallsToFrontier(MazeGrid grid, int cell) {
+        int[] offsets = grid.neighborOffsets();
+        int width = grid.getWidth();
+        int cy = cell / width;
+        int cx = cell - cy * width;
+        for (int i = 0; i < offsets.length; i++) {
+            int next = cell + offsets[i];
+            if (isInterior(cx, cy, i, width, grid.getHeight()) && !grid.isOpen(next) && (marks[next >>> 6] & (1L << next)) == 0) {
+                marks[next >>> 6] |= 1L << next;
+                if (frontierSize == frontier.length) {
+                    frontier = Arrays.copyOf(frontier, frontierSize << 1);
+                }
+                frontier[frontierSize++] = next;
+            }
+        }
+    }
+
+    // Whether the neighbour of (x, y) in direction i (up, down, left, right) is off the border
+    private static boolean isInterior(int x, int y, int i, int width, int height) {
+        switch (i) {
+            case 0: return y > 1;
+            case 1: return y < height - 2;
+            case 2: return x > 1;
+            default: return x < width - 2;
+        }
+    }
+
+    private void resetMarks(int cells) {
+        int words = (cells + 63) >>> 6;
+        if (marks.length < words) {
+            marks = new long[words];
+        } else {
+            Arrays.fill(marks, 0, words, 0L);
+        }
+    }
+}
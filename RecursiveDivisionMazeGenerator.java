@@ -0,0 +1,95 @@
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Recursive division: starts from an open field and splits each chamber with
+ * a wall on an even line, leaving one gap on an odd cell, until chambers are
+ * a single room wide. Chambers are kept on an explicit stack so large mazes
+ * cannot overflow the call stack.
+ */
+public class RecursiveDivisionMazeGenerator implements MazeGenerator {
+
+    @Override
+    public MazeGrid generate(int width, int height, long seed) {
+        MazeGrid grid = new MazeGrid(width, height);
+        grid.setSeed(seed);
+        SplittableRandom rand = new SplittableRandom(seed);
+        int cols = (width - 1) / 2;
+        int rows = (height - 1) / 2;
+
+        for (int y = 1; y < 2 * rows; y++) {
+            for (int x = 1; x < 2 * cols; x++) {
+                grid.setCell(x, y, MazeGenerator.randomTerrain(rand));
+            }
+        }
+
+        // Chambers in room coordinates: left, top, right, bottom (inclusive)
+        int[] stack = new int[64];
+        int top = 0;
+        stack[top++] = 0;
+        stack[top++] = 0;
+        stack[top++] = cols - 1;
+        stack[top++] = rows - 1;
+
+        while (top > 0) {
+            int bottom = stack[--top];
+            int right = stack[--top];
+            int upper = stack[--top];
+            int left = stack[--top];
+            int w = right - left + 1;
+            int h = bottom - upper + 1;
+            if (w < 2 || h < 2) {
+                continue;
+            }
+            if (top + 8 > stack.length) {
+                stack = Arrays.copyOf(stack, stack.length << 1);
+            }
+
+            boolean horizontal = h > w || (h == w && rand.nextBoolean());
+            if (horizontal) {
+                int split = upper + rand.nextInt(h - 1);
+                int gap = left + rand.nextInt(w);
+                int y = 2 * split + 2;
+                for (int c = left; c <= right; c++) {
+                    if (c != gap) {
+                        grid.setCell(2 * c + 1, y, MazeGrid.WALL);
+                    }
+                    if (c < right) {
+                        grid.setCell(2 * c + 2, y, MazeGrid.WALL);
+                    }
+                }
+                stack[top++] = left;
+                stack[top++] = upper;
+                stack[top++] = right;
+                stack[top++] = split;
+                stack[top++] = left;
+                stack[top++] = split + 1;
+                stack[top++] = right;
+                stack[top++] = bottom;
+            } else {
+                int split = left + rand.nextInt(w - 1);
+                int gap = upper + rand.nextInt(h);
+                int x = 2 * split + 2;
+                for (int r = upper; r <= bottom; r++) {
+                    if (r != gap) {
+                        grid.setCell(x, 2 * r + 1, MazeGrid.WALL);
+                    }
+                    if (r < bottom) {
+                        grid.setCell(x, 2 * r + 2, MazeGrid.WALL);
+                    }
+                }
+                stack[top++] = left;
+                stack[top++] = upper;
+                stack[top++] = split;
+                stack[top++] = bottom;
+                stack[top++] = split + 1;
+                stack[top++] = upper;
+                stack[top++] = right;
+                stack[top++] = bottom;
+            }
+        }
+
+        MazeGenerator.placeStartAndEnd(grid, null);
+        return grid;
+    }
+}
@@ -0,0 +1,202 @@
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Timings and counters of one generate / explore / solve run. Times are
+ * System.nanoTime() deltas; allocated bytes come from the per-thread
+ * counter of ThreadMXBean and are -1 where the JVM does not provide it.
+ * Phases that have not run yet report -1 as well. Exported as CSV or JSON.
+ */
+public class RunMetrics implements Cloneable {
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private String generator = "";
+    private int width, height;
+    private long seed;
+    private long generationNanos = -1, generationBytes = -1;
+
+    private String exploration = "";
+    private int explorationSteps = -1;
+    private long explorationNanos = -1, explorationBytes = -1;
+
+    private String solver = "";
+    private int pathCost = -1, pathLength = -1;
+    private int nodesExpanded = -1, pushes = -1, peakQueueSize = -1, reopened = -1;
+    private long solveNanos = -1, solveBytes = -1;
+
+    // Bytes allocated so far by the calling thread, or -1 if unsupported
+    static long allocatedBytes() {
+        if (THREADS instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) THREADS;
+            if (threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+                return threads.getCurrentThreadAllocatedBytes();
+            }
+        }
+        return -1;
+    }
+
+    private static long allocatedSince(long before) {
+        return before < 0 ? -1 : allocatedBytes() - before;
+    }
+
+    void recordGeneration(GeneratorType type, MazeGrid grid, long nanos, long bytesBefore) {
+        generator = type.name();
+        width = grid.getWidth();
+        height = grid.getHeight();
+        seed = grid.getSeed();
+        generationNanos = nanos;
+        generationBytes = allocatedSince(bytesBefore);
+    }
+
+    // A maze opened from a file; its generator is reported as FILE
+    void recordLoad(MazeGrid grid, long nanos, long bytesBefore) {
+        generator = "FILE";
+        width = grid.getWidth();
+        height = grid.getHeight();
+        seed = grid.getSeed();
+        generationNanos = nanos;
+        generationBytes = allocatedSince(bytesBefore);
+    }
+
+    void recordExploration(ExplorationType type, int steps, long nanos, long bytesBefore) {
+        exploration = type.name();
+        explorationSteps = steps;
+        explorationNanos = nanos;
+        explorationBytes = allocatedSince(bytesBefore);
+    }
+
+    void recordSolve(SolverType type, SolveResult result, long nanos, long bytesBefore) {
+        solver = type.name();
+        solveNanos = nanos;
+        solveBytes = allocatedSince(bytesBefore);
+        if (result != null) {
+            pathCost = result.getCost();
+            pathLength = result.getPath().length;
+            nodesExpanded = result.getNodesExpanded();
+            pushes = result.getPushes();
+            peakQueueSize = result.getPeakQueueSize();
+            reopened = result.getReopened();
+        } else {
+            pathCost = pathLength = nodesExpanded = pushes = peakQueueSize = reopened = -1;
+        }
+    }
+
+    public RunMetrics copy() {
+        try {
+            return (RunMetrics) clone();
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    public long getGenerationNanos() {
+        return generationNanos;
+    }
+
+    public long getGenerationBytes() {
+        return generationBytes;
+    }
+
+    public int getExplorationSteps() {
+        return explorationSteps;
+    }
+
+    public long getExplorationNanos() {
+        return explorationNanos;
+    }
+
+    public long getExplorationBytes() {
+        return explorationBytes;
+    }
+
+    public long getSolveNanos() {
+        return solveNanos;
+    }
+
+    public long getSolveBytes() {
+        return solveBytes;
+    }
+
+    public int getNodesExpanded() {
+        return nodesExpanded;
+    }
+
+    public int getPushes() {
+        return pushes;
+    }
+
+    public int getPeakQueueSize() {
+        return peakQueueSize;
+    }
+
+    public int getReopened() {
+        return reopened;
+    }
+
+    // Column name to value, in export order
+    public Map<String, Object> toMap() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("generator", generator);
+        m.put("width", width);
+        m.put("height", height);
+        m.put("seed", seed);
+        m.put("generationNanos", generationNanos);
+        m.put("generationBytes", generationBytes);
+        m.put("exploration", exploration);
+        m.put("explorationSteps", explorationSteps);
+        m.put("explorationNanos", explorationNanos);
+        m.put("explorationBytes", explorationBytes);
+        m.put("solver", solver);
+        m.put("pathCost", pathCost);
+        m.put("pathLength", pathLength);
+        m.put("nodesExpanded", nodesExpanded);
+        m.put("pushes", pushes);
+        m.put("peakQueueSize", peakQueueSize);
+        m.put("reopened", reopened);
+        m.put("solveNanos", solveNanos);
+        m.put("solveBytes", solveBytes);
+        return m;
+    }
+
+    // Header line plus one line per run. Values never contain commas or quotes.
+    public static void writeCsv(List<RunMetrics> runs, Writer out) throws IOException {
+        out.write(String.join(",", new RunMetrics().toMap().keySet()));
+        out.write('\n');
+        for (RunMetrics run : runs) {
+            StringBuilder line = new StringBuilder();
+            for (Object value : run.toMap().values()) {
+                if (line.length() > 0) {
+                    line.append(',');
+                }
+                line.append(value);
+            }
+            out.write(line.append('\n').toString());
+        }
+    }
+
+    // Array with one object per run
+    public static void writeJson(List<RunMetrics> runs, Writer out) throws IOException {
+        out.write("[\n");
+        for (int i = 0; i < runs.size(); i++) {
+            StringBuilder obj = new StringBuilder("  {");
+            for (Map.Entry<String, Object> e : runs.get(i).toMap().entrySet()) {
+                if (obj.length() > 3) {
+                    obj.append(", ");
+                }
+                obj.append('"').append(e.getKey()).append("\": ");
+                if (e.getValue() instanceof String) {
+                    obj.append('"').append(e.getValue()).append('"');
+                } else {
+                    obj.append(e.getValue());
+                }
+            }
+            out.write(obj.append(i + 1 < runs.size() ? "},\n" : "}\n").toString());
+        }
+        out.write("]\n");
+    }
+}
@@ -0,0 +1,146 @@
+import java.util.Arrays;
+
+/**
+ * Reusable per-cell search state (distances, parents, closed set, open list
+ * and the last path found). Buffers only grow, so repeated searches on grids
+ * of the same size do not allocate. A context must not be shared between
+ * threads; {@link #forCurrentThread()} hands out one per thread.
+ */
+public class SearchContext {
+    private static final ThreadLocal<SearchContext> PER_THREAD = ThreadLocal.withInitial(SearchContext::new);
+
+    int[] dist = new int[0];
+    int[] parent = new int[0];
+    // One bit per cell
+    long[] closed = new long[0];
+    final IndexedMinHeap heap = new IndexedMinHeap();
+    // Backward half of a bidirectional search
+    int[] distBack = new int[0];
+    int[] parentBack = new int[0];
+    long[] closedBack = new long[0];
+    final IndexedMinHeap heapBack = new IndexedMinHeap();
+    // Dial's buckets, one per distance modulo MAX_COST + 1
+    final IntQueue[] buckets = new IntQueue[MazeGrid.MAX_COST + 1];
+
+    int[] path = new int[16];
+    int pathLength;
+    int nodesExpanded;
+    // Queue counters of solvers that do not use the heaps (Dial)
+    int bucketPushes;
+    int peakBucketSize;
+
+    public static SearchContext forCurrentThread() {
+        return PER_THREAD.get();
+    }
+
+    // Sizes the buffers for the grid and marks every cell unreached
+    void reset(MazeGrid grid) {
+        reset(grid, 1);
+    }
+
+    // Same, for searches that track several states per cell
+    void reset(MazeGrid grid, int statesPerCell) {
+        if ((long) grid.getCellCount() * statesPerCell > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Maze too large for " + statesPerCell + " search states per cell");
+        }
+        int cells = grid.getCellCount() * statesPerCell;
+        int words = (cells + 63) >>> 6;
+        if (dist.length < cells) {
+            dist = new int[cells];
+            parent = new int[cells];
+        }
+        if (closed.length < words) {
+            closed = new long[words];
+        }
+        Arrays.fill(dist, 0, cells, Integer.MAX_VALUE);
+        Arrays.fill(closed, 0, words, 0L);
+        heap.reset(cells);
+        heapBack.reset(0);
+        for (int i = 0; i < buckets.length; i++) {
+            if (buckets[i] == null) {
+                buckets[i] = new IntQueue(64);
+            }
+            buckets[i].clear();
+        }
+        pathLength = 0;
+        nodesExpanded = 0;
+        bucketPushes = 0;
+        peakBucketSize = 0;
+    }
+
+    // Also sizes and clears the backward search state
+    void resetBidirectional(MazeGrid grid) {
+        reset(grid);
+        int cells = grid.getCellCount();
+        int words = (cells + 63) >>> 6;
+        if (distBack.length < cells) {
+            distBack = new int[cells];
+            parentBack = new int[cells];
+        }
+        if (closedBack.length < words) {
+            closedBack = new long[words];
+        }
+        Arrays.fill(distBack, 0, cells, Integer.MAX_VALUE);
+        Arrays.fill(closedBack, 0, words, 0L);
+        heapBack.reset(cells);
+    }
+
+    boolean isClosed(int cell) {
+        return (closed[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    void close(int cell) {
+        closed[cell >>> 6] |= 1L << cell;
+    }
+
+    // Copies the start-to-end parent chain into the path buffer
+    void tracePath(int end) {
+        int length = 0;
+        for (int cell = end; cell != -1; cell = parent[cell]) {
+            length++;
+        }
+        ensurePathCapacity(length);
+        pathLength = length;
+        for (int cell = end; cell != -1; cell = parent[cell]) {
+            path[--length] = cell;
+        }
+    }
+
+    void ensurePathCapacity(int length) {
+        if (path.length < length) {
+            path = Arrays.copyOf(path, Math.max(length, path.length << 1));
+        }
+    }
+
+    public int[] getPath() {
+        return Arrays.copyOf(path, pathLength);
+    }
+
+    public int getPathLength() {
+        return pathLength;
+    }
+
+    public int getPathCell(int i) {
+        return path[i];
+    }
+
+    public int getNodesExpanded() {
+        return nodesExpanded;
+    }
+
+    // Insertions and decrease-keys over all queues of the last search
+    public int getPushes() {
+        return heap.pushes + heapBack.pushes + bucketPushes;
+    }
+
+    // Largest number of queued entries; both directions added up for a
+    // bidirectional search, so there it is an upper bound
+    public int getPeakQueueSize() {
+        return heap.peakSize + heapBack.peakSize + peakBucketSize;
+    }
+
+    // Cells queued again after they had been taken off the queue
+    public int getReopened() {
+        return heap.reopened + heapBack.reopened;
+    }
+}
@@ -0,0 +1,62 @@
+/**
+ * Path found by a {@link PathSolver} together with its cost and search stats.
+ */
+public class SolveResult {
+    private final int[] path;
+    private final int cost;
+    private final int nodesExpanded;
+    private final int pushes;
+    private final int peakQueueSize;
+    private final int reopened;
+    private final long elapsedNanos;
+
+    public SolveResult(int[] path, int cost, int nodesExpanded, long elapsedNanos) {
+        this(path, cost, nodesExpanded, 0, 0, 0, elapsedNanos);
+    }
+
+    public SolveResult(int[] path, int cost, int nodesExpanded, int pushes, int peakQueueSize,
+            int reopened, long elapsedNanos) {
+        this.path = path;
+        this.cost = cost;
+        this.nodesExpanded = nodesExpanded;
+        this.pushes = pushes;
+        this.peakQueueSize = peakQueueSize;
+        this.reopened = reopened;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    // Builds the result of the search just run in ctx
+    static SolveResult of(SearchContext ctx, int cost, long elapsedNanos) {
+        return new SolveResult(ctx.getPath(), cost, ctx.getNodesExpanded(), ctx.getPushes(),
+                ctx.getPeakQueueSize(), ctx.getReopened(), elapsedNanos);
+    }
+
+    // Cell indices from start to end, both inclusive
+    public int[] getPath() {
+        return path;
+    }
+
+    public int getCost() {
+        return cost;
+    }
+
+    public int getNodesExpanded() {
+        return nodesExpanded;
+    }
+
+    public int getPushes() {
+        return pushes;
+    }
+
+    public int getPeakQueueSize() {
+        return peakQueueSize;
+    }
+
+    public int getReopened() {
+        return reopened;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+}
@@ -0,0 +1,59 @@
+import java.util.function.Function;
+
+/**
+ * Solution algorithms available to the Enderman stage.
+ */
+public enum SolverType {
+    DIJKSTRA("Dijkstra", "Dijkstra (Cost Optimal)", DijkstraSolver::new),
+    A_STAR("A*", "A* (Manhattan, Fast)", ctx -> new AStarSolver(AStarSolver.Heuristic.MANHATTAN, ctx)),
+    A_STAR_ADMISSIBLE("A*", "A* (Admissible, Cost Optimal)", ctx -> new AStarSolver(AStarSolver.Heuristic.ADMISSIBLE, ctx)),
+    DIAL("Dial", "Dial (Bucket Queue)", DialSolver::new),
+    // Only pays off on open grids with long uniform runs; on generated mazes
+    // it expands more cells than Dijkstra, so it is offered for comparison
+    JPS("JPS", "Jump Point Search (Benchmark, Open Grids)", true, JumpPointSolver::new),
+    BIDIRECTIONAL("Bidirectional Dijkstra", "Bidirectional Dijkstra", BidirectionalSolver::new),
+    // Keeps its own per-cluster buffers; builds the cluster graph on the first solve of a maze
+    HPA("HPA*", "HPA* (Clusters, Cost Optimal)", ctx -> new HierarchicalSolver()),
+    // Search the maze with its corridors contracted; the junction graph is cached like HPA*'s
+    JUNCTION_DIJKSTRA("Junction Dijkstra", "Dijkstra (Junction Graph)", ctx -> new JunctionSolver(false)),
+    JUNCTION_A_STAR("Junction A*", "A* (Junction Graph, Cost Optimal)", ctx -> new JunctionSolver(true));
+
+    private final String shortName;
+    private final String label;
+    private final boolean benchmarkOnly;
+    private final Function<SearchContext, PathSolver> factory;
+
+    SolverType(String shortName, String label, Function<SearchContext, PathSolver> factory) {
+        this(shortName, label, false, factory);
+    }
+
+    SolverType(String shortName, String label, boolean benchmarkOnly, Function<SearchContext, PathSolver> factory) {
+        this.shortName = shortName;
+        this.label = label;
+        this.benchmarkOnly = benchmarkOnly;
+        this.factory = factory;
+    }
+
+    public String getShortName() {
+        return shortName;
+    }
+
+    // Correct, but slower than Dijkstra on the mazes this app generates
+    public boolean isBenchmarkOnly() {
+        return benchmarkOnly;
+    }
+
+    // Solver using the calling thread's context
+    public PathSolver newSolver() {
+        return factory.apply(null);
+    }
+
+    public PathSolver newSolver(SearchContext context) {
+        return factory.apply(context);
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
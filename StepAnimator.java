@@ -0,0 +1,76 @@
+import java.util.function.DoubleSupplier;
+import javax.swing.Timer;
+
+/**
+ * Plays back a precomputed sequence of steps at a rate given in steps per
+ * second, independent of how many steps there are. A frame timer advances
+ * as many steps as the elapsed time allows and hands them to the sink as
+ * one batch. The rate is re-read every frame, so it can change while
+ * playing. Runs on the Event Dispatch Thread.
+ */
+public class StepAnimator {
+    private static final int FRAME_MILLIS = 16;
+
+    /** Receives the steps in [from, to) shown by one frame. */
+    @FunctionalInterface
+    public interface StepSink {
+        void advance(int from, int to);
+    }
+
+    private final int totalSteps;
+    private final DoubleSupplier stepsPerSecond;
+    private final StepSink sink;
+    private final Runnable onFinished;
+    private final Timer timer;
+    private int shown;
+    // Fractional steps carried between frames
+    private double progress;
+    private long lastFrame;
+
+    public StepAnimator(int totalSteps, DoubleSupplier stepsPerSecond, StepSink sink, Runnable onFinished) {
+        this.totalSteps = totalSteps;
+        this.stepsPerSecond = stepsPerSecond;
+        this.sink = sink;
+        this.onFinished = onFinished;
+        this.timer = new Timer(FRAME_MILLIS, e -> frame());
+    }
+
+    public void start() {
+        lastFrame = System.nanoTime();
+        timer.start();
+    }
+
+    public void stop() {
+        timer.stop();
+    }
+
+    public boolean isRunning() {
+        return timer.isRunning();
+    }
+
+    // Shows all remaining steps at once
+    public void finish() {
+        if (timer.isRunning()) {
+            advanceTo(totalSteps);
+        }
+    }
+
+    private void frame() {
+        long now = System.nanoTime();
+        progress += (now - lastFrame) / 1e9 * stepsPerSecond.getAsDouble();
+        lastFrame = now;
+        advanceTo((int) Math.min(totalSteps, progress));
+    }
+
+    private void advanceTo(int target) {
+        if (target > shown) {
+            int from = shown;
+            shown = target;
+            sink.advance(from, target);
+        }
+        if (shown >= totalSteps) {
+            timer.stop();
+            onFinished.run();
+        }
+    }
+}
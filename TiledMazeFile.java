@@ -0,0 +1,331 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Maze file laid out in square tiles, for mazes too large for one
+ * {@link MazeGrid}. Little-endian:
+ * <pre>
+ *  0  "MZTL"
+ *  4  short version, short reserved
+ *  8  int width, int height, int tile size
+ * 20  reserved
+ * 24  long seed
+ * 32  long start, long end (cell y * width + x)
+ * 48  reserved up to HEADER_SIZE
+ * 64  tiles row by row, each tile size^2 cells packed two per byte (even
+ *     cell in the low nibble); edge tiles are padded with walls
+ * </pre>
+ * Cells are addressed by long index, so the maze may have more than
+ * Integer.MAX_VALUE cells. Instances map the tiles read-only, in chunks of
+ * whole tiles, and unpack one tile at a time; the OS pages the file in and
+ * out, so the heap holds no terrain beyond the unpacked tile.
+ */
+public class TiledMazeFile implements AutoCloseable {
+    public static final String EXTENSION = ".mztl";
+    public static final int DEFAULT_TILE_SIZE = 512;
+
+    private static final byte[] MAGIC = {'M', 'Z', 'T', 'L'};
+    private static final int VERSION = 1;
+    static final int HEADER_SIZE = 64;
+    // A single mapping cannot exceed 2 GB; chunks hold whole tiles up to this
+    private static final int CHUNK_BYTES = 1 << 30;
+
+    private final FileChannel channel;
+    private final int width, height, tileSize, tilesX, tilesY;
+    private final long seed, start, end;
+    private final int tilesPerChunk;
+    private final ByteBuffer[] chunks;
+
+    private TiledMazeFile(FileChannel channel, int width, int height, int tileSize, long seed, long start, long end)
+            throws IOException {
+        this.channel = channel;
+        this.width = width;
+        this.height = height;
+        this.tileSize = tileSize;
+        this.tilesX = (width + tileSize - 1) / tileSize;
+        this.tilesY = (height + tileSize - 1) / tileSize;
+        this.seed = seed;
+        this.start = start;
+        this.end = end;
+
+        long expected = HEADER_SIZE + (long) getTileCount() * tileBytes(tileSize);
+        if (channel.size() < expected) {
+            throw new IOException("Tiled maze file truncated: " + channel.size() + " of " + expected + " bytes");
+        }
+        this.tilesPerChunk = Math.max(1, CHUNK_BYTES / tileBytes(tileSize));
+        this.chunks = new ByteBuffer[(getTileCount() + tilesPerChunk - 1) / tilesPerChunk];
+        for (int c = 0; c < chunks.length; c++) {
+            int tiles = Math.min(tilesPerChunk, getTileCount() - c * tilesPerChunk);
+            chunks[c] = channel.map(FileChannel.MapMode.READ_ONLY,
+                    HEADER_SIZE + (long) c * tilesPerChunk * tileBytes(tileSize), (long) tiles * tileBytes(tileSize));
+        }
+    }
+
+    public static TiledMazeFile open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            if (channel.size() < HEADER_SIZE) {
+                throw new IOException(file.getFileName() + " is not a tiled maze file");
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            for (byte b : MAGIC) {
+                if (header.get() != b) {
+                    throw new IOException(file.getFileName() + " is not a tiled maze file");
+                }
+            }
+            int version = header.getShort();
+            if (version != VERSION) {
+                throw new IOException("Unsupported tiled maze file version " + version);
+            }
+            header.position(8);
+            int width = header.getInt();
+            int height = header.getInt();
+            int tileSize = header.getInt();
+            header.position(24);
+            long seed = header.getLong();
+            long start = header.getLong();
+            long end = header.getLong();
+            if (width < 3 || height < 3 || tileSize < 2 || (tileSize & 1) != 0
+                    || (long) tileSize * tileSize > Integer.MAX_VALUE) {
+                throw new IOException("Corrupt tiled maze header: " + width + "x" + height + ", tile " + tileSize);
+            }
+            long tiles = (long) ((width + tileSize - 1) / tileSize) * ((height + tileSize - 1) / tileSize);
+            if (tiles > Integer.MAX_VALUE) {
+                throw new IOException("Too many tiles: " + width + "x" + height + " with tile size " + tileSize);
+            }
+            long cells = (long) width * height;
+            if (start < 0 || start >= cells || end < 0 || end >= cells) {
+                throw new IOException("Corrupt tiled maze header: start " + start + ", end " + end);
+            }
+
+            return new TiledMazeFile(channel, width, height, tileSize, seed, start, end);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // Generates an Eller maze straight to disk, never holding more than one
+    // row of tiles in memory. Start is (1, 1), end the bottom-right room.
+    public static void create(Path file, int width, int height, int tileSize, long seed) throws IOException {
+        long start = width + 1L;
+        long end = (long) (2 * ((height - 1) / 2) - 1) * width + 2 * ((width - 1) / 2) - 1;
+        try (TileWriter writer = new TileWriter(file, width, height, tileSize, seed, start, end)) {
+            new EllerMazeGenerator().stream(width, height, seed, writer::accept);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    // Tiled copy of an in-memory maze
+    public static void write(MazeGrid grid, Path file, int tileSize) throws IOException {
+        int width = grid.getWidth();
+        try (TileWriter writer = new TileWriter(file, width, grid.getHeight(), tileSize, grid.getSeed(),
+                grid.getStart(), grid.getEnd())) {
+            byte[] row = new byte[width];
+            for (int y = 0; y < grid.getHeight(); y++) {
+                for (int x = 0; x < width; x++) {
+                    row[x] = (byte) grid.getCell(y * width + x);
+                }
+                writer.accept(y, row);
+            }
+        }
+    }
+
+    static int tileBytes(int tileSize) {
+        return tileSize * tileSize / 2;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public long getCellCount() {
+        return (long) width * height;
+    }
+
+    public int getTileSize() {
+        return tileSize;
+    }
+
+    public int getTilesX() {
+        return tilesX;
+    }
+
+    public int getTilesY() {
+        return tilesY;
+    }
+
+    public int getTileCount() {
+        return tilesX * tilesY;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public long getStart() {
+        return start;
+    }
+
+    public long getEnd() {
+        return end;
+    }
+
+    // Unpacks tile (tx, ty) into terrain, one cell type per byte, row-major.
+    // Solvers index the cost table by type and rely on the walled border
+    // instead of bounds checks, so both are checked as the tile comes in.
+    public void readTile(int tx, int ty, byte[] terrain) throws IOException {
+        int tile = ty * tilesX + tx;
+        ByteBuffer chunk = chunks[tile / tilesPerChunk];
+        int position = (tile % tilesPerChunk) * tileBytes(tileSize);
+        for (int i = 0; i < terrain.length; i += 2) {
+            int packed = chunk.get(position++);
+            int low = packed & 0xF;
+            int high = (packed >>> 4) & 0xF;
+            if (low > MazeGrid.FOOTPATH || high > MazeGrid.FOOTPATH) {
+                throw new IOException("Corrupt tiled maze file: unknown terrain in tile (" + tx + ", " + ty + ")");
+            }
+            terrain[i] = (byte) low;
+            terrain[i + 1] = (byte) high;
+        }
+
+        int x0 = tx * tileSize;
+        int y0 = ty * tileSize;
+        int columns = Math.min(tileSize, width - x0);
+        int rows = Math.min(tileSize, height - y0);
+        for (int x = 0; x < columns; x++) {
+            if (y0 == 0) {
+                checkWall(terrain, tx, ty, x, 0);
+            }
+            if (y0 + rows == height) {
+                checkWall(terrain, tx, ty, x, rows - 1);
+            }
+        }
+        for (int y = 0; y < rows; y++) {
+            if (x0 == 0) {
+                checkWall(terrain, tx, ty, 0, y);
+            }
+            if (x0 + columns == width) {
+                checkWall(terrain, tx, ty, columns - 1, y);
+            }
+        }
+    }
+
+    private void checkWall(byte[] terrain, int tx, int ty, int x, int y) throws IOException {
+        if (terrain[y * tileSize + x] != MazeGrid.WALL) {
+            throw new IOException("Corrupt tiled maze file: border cell (" + (tx * tileSize + x) + ", "
+                    + (ty * tileSize + y) + ") is not a wall");
+        }
+    }
+
+    // The mappings stay valid until they are garbage collected
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Collects rows top to bottom into one band of tiles and writes each
+     * band once it is complete.
+     */
+    private static class TileWriter implements AutoCloseable {
+        private final FileChannel channel;
+        private final int width, tileSize, tilesX;
+        private final long start, end;
+        private final byte[] band;
+        private int bandRow = -1;
+
+        TileWriter(Path file, int width, int height, int tileSize, long seed, long start, long end) throws IOException {
+            if (width < 3 || height < 3) {
+                throw new IllegalArgumentException("Maze must be at least 3x3, got " + width + "x" + height);
+            }
+            if (tileSize < 2 || (tileSize & 1) != 0) {
+                throw new IllegalArgumentException("Tile size must be even, got " + tileSize);
+            }
+            this.width = width;
+            this.tileSize = tileSize;
+            this.tilesX = (width + tileSize - 1) / tileSize;
+            this.start = start;
+            this.end = end;
+            if ((long) tilesX * tileBytes(tileSize) > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Tile row too large: " + width + " cells wide with tile size " + tileSize);
+            }
+            this.band = new byte[tilesX * tileBytes(tileSize)];
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.put(MAGIC)
+                    .putShort((short) VERSION)
+                    .putShort((short) 0)
+                    .putInt(width)
+                    .putInt(height)
+                    .putInt(tileSize)
+                    .putInt(0)
+                    .putLong(seed)
+                    .putLong(start)
+                    .putLong(end);
+            header.clear();
+            write(header, 0);
+        }
+
+        // Rows must arrive in order
+        void accept(int y, byte[] row) {
+            try {
+                int ty = y / tileSize;
+                if (ty != bandRow) {
+                    flush();
+                    bandRow = ty;
+                }
+                long rowStart = (long) y * width;
+                int base = (y % tileSize) * tileSize;
+                for (int x = 0; x < width; x++) {
+                    int type = row[x];
+                    long cell = rowStart + x;
+                    if (cell == start || cell == end) {
+                        type = MazeGrid.FOOTPATH;
+                    }
+                    // Cell offset in the band; a band may hold more than 2^31 cells
+                    long i = (long) (x / tileSize) * tileSize * tileSize + base + x % tileSize;
+                    band[(int) (i >>> 1)] |= (byte) (type << (((int) i & 1) << 2));
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void flush() throws IOException {
+            if (bandRow >= 0) {
+                write(ByteBuffer.wrap(band), HEADER_SIZE + (long) bandRow * band.length);
+                Arrays.fill(band, (byte) 0);
+            }
+        }
+
+        private void write(ByteBuffer buffer, long position) throws IOException {
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Parallel generation for very large mazes. The room lattice is cut into
+ * square tiles that are carved concurrently with Kruskal on a ForkJoinPool,
+ * then neighbouring tiles are joined through one passage per edge of a
+ * random spanning tree over the tiles, so the result is still a single
+ * perfect maze. Each tile draws from its own stream split off the seed in
+ * tile order, so the grid does not depend on thread scheduling.
+ */
+public class TiledMazeGenerator implements MazeGenerator {
+    public static final int DEFAULT_TILE_ROOMS = 256;
+
+    private final ForkJoinPool pool;
+    // Tile side length in rooms (one room per two cells)
+    private final int tileRooms;
+
+    public TiledMazeGenerator() {
+        this(ForkJoinPool.commonPool(), DEFAULT_TILE_ROOMS);
+    }
+
+    public TiledMazeGenerator(ForkJoinPool pool, int tileRooms) {
+        if (tileRooms < 1) {
+            throw new IllegalArgumentException("Tile size must be at least one room, got " + tileRooms);
+        }
+        this.pool = pool;
+        this.tileRooms = tileRooms;
+    }
+
+    @Override
+    public MazeGrid generate(int width, int height, long seed) {
+        MazeGrid grid = new MazeGrid(width, height);
+        grid.setSeed(seed);
+        int cols = (width - 1) / 2;
+        int rows = (height - 1) / 2;
+        int tilesX = (cols + tileRooms - 1) / tileRooms;
+        int tilesY = (rows + tileRooms - 1) / tileRooms;
+
+        SplittableRandom rand = new SplittableRandom(seed);
+        SplittableRandom[] streams = new SplittableRandom[tilesX * tilesY];
+        for (int i = 0; i < streams.length; i++) {
+            streams[i] = rand.split();
+        }
+        // Tiles write disjoint cells with the raw putCell, so no shared grid
+        // field is written concurrently; invoke() returns once all are done
+        pool.invoke(new TileTask(grid, streams, tilesX, cols, rows, 0, streams.length));
+        grid.invalidate();
+
+        stitch(grid, rand, tilesX, tilesY, cols, rows);
+        MazeGenerator.placeStartAndEnd(grid, null);
+        return grid;
+    }
+
+    // Kruskal over the tile graph; every tree edge opens one wall cell on
+    // the boundary between the two tiles
+    private void stitch(MazeGrid grid, SplittableRandom rand, int tilesX, int tilesY, int cols, int rows) {
+        int tiles = tilesX * tilesY;
+        int[] edges = new int[2 * tiles];
+        int edgeCount = 0;
+        int[] parent = new int[tiles];
+        for (int t = 0; t < tiles; t++) {
+            parent[t] = t;
+            if (t % tilesX + 1 < tilesX) {
+                edges[edgeCount++] = t * 2;
+            }
+            if (t / tilesX + 1 < tilesY) {
+                edges[edgeCount++] = t * 2 + 1;
+            }
+        }
+
+        for (int i = edgeCount - 1; i >= 0; i--) {
+            int j = rand.nextInt(i + 1);
+            int edge = edges[j];
+            edges[j] = edges[i];
+
+            int a = edge >>> 1;
+            boolean down = (edge & 1) != 0;
+            int rootA = KruskalMazeGenerator.find(parent, a);
+            int rootB = KruskalMazeGenerator.find(parent, down ? a + tilesX : a + 1);
+            if (rootA == rootB) {
+                continue;
+            }
+            parent[rootB] = rootA;
+
+            int left = (a % tilesX) * tileRooms;
+            int top = (a / tilesX) * tileRooms;
+            if (down) {
+                int c = left + rand.nextInt(Math.min(tileRooms, cols - left));
+                grid.setCell(2 * c + 1, 2 * (top + tileRooms), MazeGenerator.randomTerrain(rand));
+            } else {
+                int r = top + rand.nextInt(Math.min(tileRooms, rows - top));
+                grid.setCell(2 * (left + tileRooms), 2 * r + 1, MazeGenerator.randomTerrain(rand));
+            }
+        }
+    }
+
+    private final class TileTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final MazeGrid grid;
+        private final SplittableRandom[] streams;
+        private final int tilesX, cols, rows;
+        private final int from, to;
+
+        TileTask(MazeGrid grid, SplittableRandom[] streams, int tilesX, int cols, int rows, int from, int to) {
+            this.grid = grid;
+            this.streams = streams;
+            this.tilesX = tilesX;
+            this.cols = cols;
+            this.rows = rows;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                int left = (from % tilesX) * tileRooms;
+                int top = (from / tilesX) * tileRooms;
+                KruskalMazeGenerator.carve(grid, left, top,
+                        Math.min(tileRooms, cols - left), Math.min(tileRooms, rows - top), streams[from]);
+            } else {
+                int mid = (from + to) >>> 1;
+                invokeAll(new TileTask(grid, streams, tilesX, cols, rows, from, mid),
+                        new TileTask(grid, streams, tilesX, cols, rows, mid, to));
+            }
+        }
+    }
+}
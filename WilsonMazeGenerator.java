@@ -0,0 +1,84 @@
+import java.util.SplittableRandom;
+
+/**
+ * Wilson's algorithm: loop-erased random walks from every room not yet in
+ * the maze until they hit it. Produces a uniformly random spanning tree,
+ * i.e. an unbiased maze. The last direction taken out of each room is all
+ * that is stored, which erases loops implicitly.
+ */
+public class WilsonMazeGenerator implements MazeGenerator {
+    private static final int UP = 0, DOWN = 1, LEFT = 2, RIGHT = 3;
+
+    @Override
+    public MazeGrid generate(int width, int height, long seed) {
+        MazeGrid grid = new MazeGrid(width, height);
+        grid.setSeed(seed);
+        SplittableRandom rand = new SplittableRandom(seed);
+        int cols = (width - 1) / 2;
+        int rows = (height - 1) / 2;
+        int rooms = cols * rows;
+
+        byte[] exit = new byte[rooms];
+        long[] inMaze = new long[(rooms + 63) >>> 6];
+
+        int root = rand.nextInt(rooms);
+        inMaze[root >>> 6] |= 1L << root;
+        carveRoom(grid, cols, root, rand);
+
+        for (int first = 0; first < rooms; first++) {
+            // Walk until the maze is hit, remembering the last exit of each room
+            int room = first;
+            while ((inMaze[room >>> 6] & (1L << room)) == 0) {
+                int dir = randomDirection(room, cols, rows, rand);
+                exit[room] = (byte) dir;
+                room = step(room, dir, cols);
+            }
+
+            // Carve the loop-erased walk into the maze
+            room = first;
+            while ((inMaze[room >>> 6] & (1L << room)) == 0) {
+                inMaze[room >>> 6] |= 1L << room;
+                carveRoom(grid, cols, room, rand);
+                int x = 2 * (room % cols) + 1;
+                int y = 2 * (room / cols) + 1;
+                switch (exit[room]) {
+                    case UP: grid.setCell(x, y - 1, MazeGenerator.randomTerrain(rand)); break;
+                    case DOWN: grid.setCell(x, y + 1, MazeGenerator.randomTerrain(rand)); break;
+                    case LEFT: grid.setCell(x - 1, y, MazeGenerator.randomTerrain(rand)); break;
+                    default: grid.setCell(x + 1, y, MazeGenerator.randomTerrain(rand)); break;
+                }
+                room = step(room, exit[room], cols);
+            }
+        }
+
+        MazeGenerator.placeStartAndEnd(grid, null);
+        return grid;
+    }
+
+    private static void carveRoom(MazeGrid grid, int cols, int room, SplittableRandom rand) {
+        grid.setCell(2 * (room % cols) + 1, 2 * (room / cols) + 1, MazeGenerator.randomTerrain(rand));
+    }
+
+    private static int randomDirection(int room, int cols, int rows, SplittableRandom rand) {
+        int c = room % cols;
+        int r = room / cols;
+        while (true) {
+            int dir = rand.nextInt(4);
+            switch (dir) {
+                case UP: if (r > 0) return dir; break;
+                case DOWN: if (r < rows - 1) return dir; break;
+                case LEFT: if (c > 0) return dir; break;
+                default: if (c < cols - 1) return dir; break;
+            }
+        }
+    }
+
+    private static int step(int room, int dir, int cols) {
+        switch (dir) {
+            case UP: return room - cols;
+            case DOWN: return room + cols;
+            case LEFT: return room - 1;
+            default: return room + 1;
+        }
+    }
+}
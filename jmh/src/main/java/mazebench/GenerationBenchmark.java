@@ -0,0 +1,48 @@
+package mazebench;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongToIntFunction;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Maze generation (including start/end placement) per generator and size.
+ * Each call uses the next seed, so runs are reproducible but not cached.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GenerationBenchmark {
+
+    @Param({"21", "256", "1024", "4096"})
+    int size;
+
+    @Param({"PRIM", "KRUSKAL", "WILSON", "ELLER", "RECURSIVE_DIVISION", "TILED"})
+    String generator;
+
+    private LongToIntFunction generate;
+    private long seed;
+
+    @Setup
+    public void setUp() {
+        generate = Targets.call("generator", generator, size);
+    }
+
+    @Benchmark
+    public int generateMaze() {
+        return generate.applyAsInt(seed++);
+    }
+}
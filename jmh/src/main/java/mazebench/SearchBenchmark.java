@@ -0,0 +1,99 @@
+package mazebench;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Exploration, solving and the furthest-point BFS on one fixed Prim maze
+ * per size and terrain mix.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SearchBenchmark {
+
+    @Param({"21", "256", "1024", "4096"})
+    int size;
+
+    @Param({"MIXED", "UNIFORM", "COSTLY"})
+    String terrain;
+
+    private IntSupplier bfs, dfs, dijkstra, aStar, aStarAdmissible, dial, junctionDijkstra, junctionAStar, furthest;
+
+    @Setup
+    public void setUp() {
+        Object maze = Targets.call("maze", size, terrain, 42L);
+        bfs = Targets.call("explore", maze, "BFS");
+        dfs = Targets.call("explore", maze, "DFS");
+        dijkstra = Targets.call("solve", maze, "DIJKSTRA");
+        aStar = Targets.call("solve", maze, "A_STAR");
+        aStarAdmissible = Targets.call("solve", maze, "A_STAR_ADMISSIBLE");
+        dial = Targets.call("solve", maze, "DIAL");
+        junctionDijkstra = Targets.call("solve", maze, "JUNCTION_DIJKSTRA");
+        junctionAStar = Targets.call("solve", maze, "JUNCTION_A_STAR");
+        // Build the junction graphs here so only the searches are measured
+        junctionDijkstra.getAsInt();
+        junctionAStar.getAsInt();
+        furthest = Targets.call("furthestPoint", maze);
+    }
+
+    @Benchmark
+    public int exploreBFS() {
+        return bfs.getAsInt();
+    }
+
+    @Benchmark
+    public int exploreDFS() {
+        return dfs.getAsInt();
+    }
+
+    @Benchmark
+    public int solveDijkstra() {
+        return dijkstra.getAsInt();
+    }
+
+    @Benchmark
+    public int solveAStar() {
+        return aStar.getAsInt();
+    }
+
+    @Benchmark
+    public int solveAStarAdmissible() {
+        return aStarAdmissible.getAsInt();
+    }
+
+    @Benchmark
+    public int solveDial() {
+        return dial.getAsInt();
+    }
+
+    @Benchmark
+    public int solveJunctionDijkstra() {
+        return junctionDijkstra.getAsInt();
+    }
+
+    @Benchmark
+    public int solveJunctionAStar() {
+        return junctionAStar.getAsInt();
+    }
+
+    @Benchmark
+    public int findFurthestPoint() {
+        return furthest.getAsInt();
+    }
+}
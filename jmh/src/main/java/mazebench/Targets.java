@@ -0,0 +1,36 @@
+package mazebench;
+
+import java.lang.reflect.Method;
+
+/**
+ * Reflective access to the application's BenchmarkTargets, which lives in
+ * the default package and so cannot be imported.
+ */
+final class Targets {
+    private static final Class<?> TARGETS;
+
+    static {
+        try {
+            TARGETS = Class.forName("BenchmarkTargets");
+        } catch (ClassNotFoundException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private Targets() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> T call(String name, Object... args) {
+        for (Method m : TARGETS.getMethods()) {
+            if (m.getName().equals(name) && m.getParameterCount() == args.length) {
+                try {
+                    return (T) m.invoke(null, args);
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalStateException("BenchmarkTargets." + name + " failed", e);
+                }
+            }
+        }
+        throw new IllegalArgumentException("No BenchmarkTargets." + name + " taking " + args.length + " arguments");
+    }
+}